@@ -0,0 +1,58 @@
+package com.myibltest.benchmarks;
+
+import com.myibltest.utils.ItemCounter;
+import com.myibltest.utils.ResponseUtils;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of ResponseUtils.countItemsWithValue / countItems from 1k to 100k elements.
+ * Each operation starts from a fresh ResponseUtils, so the time includes the single parse;
+ * time per operation divided by size should stay flat if the traversal is linear.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class CountItemsBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private Response response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        response = SchedulePayloadGenerator.generateResponse(size);
+    }
+
+    @Benchmark
+    public int countLiveEpisodes() {
+        return new ResponseUtils(response).countItemsWithValue("schedule.elements", "episode.live", true);
+    }
+
+    @Benchmark
+    public Map<String, Integer> countSeveralPredicatesInOnePass() {
+        ItemCounter counter = new ItemCounter()
+                .count("live", "episode.live", true)
+                .count("repeat", "repeat", true)
+                .count("fullSlot", "duration", 1800);
+        return new ResponseUtils(response).countItems("schedule.elements", counter);
+    }
+}
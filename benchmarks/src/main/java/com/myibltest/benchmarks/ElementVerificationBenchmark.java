@@ -0,0 +1,90 @@
+package com.myibltest.benchmarks;
+
+import com.myibltest.utils.paths.ElementRule;
+import com.myibltest.utils.paths.ElementStreamVerifier;
+import com.myibltest.utils.paths.ElementVerification;
+import com.myibltest.utils.paths.JsonPaths;
+import io.restassured.path.json.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks each ElementVerification rule over an already materialized element list,
+ * and the single-pass streaming verifier running every rule straight from the raw body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class ElementVerificationBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    private byte[] body;
+    private List<Map<String, Object>> elements;
+    private final ElementVerification verification = new ElementVerification();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        body = SchedulePayloadGenerator.generate(size);
+        elements = JsonPath.from(new String(body)).getList(JsonPaths.SCHEDULE_ELEMENTS);
+    }
+
+    @Benchmark
+    public boolean verifyElementIds() {
+        return verification.verifyElementIds(elements);
+    }
+
+    @Benchmark
+    public boolean verifyEpisodeTypes() {
+        return verification.verifyEpisodeTypes(elements);
+    }
+
+    @Benchmark
+    public boolean verifyEpisodeTitles() {
+        return verification.verifyEpisodeTitles(elements);
+    }
+
+    @Benchmark
+    public boolean verifySingleLiveEpisode() {
+        return verification.verifySingleLiveEpisode(elements);
+    }
+
+    @Benchmark
+    public boolean verifyTransmissionStartBeforeEnd() {
+        ElementRule rule = ElementVerification.transmissionStartBeforeEndRule();
+        for (int i = 0; i < elements.size(); i++) {
+            rule.accept(i, elements.get(i));
+        }
+        rule.finish();
+        return rule.isValid();
+    }
+
+    @Benchmark
+    public boolean streamAllRulesFromBody() {
+        return new ElementStreamVerifier()
+                .register(ElementVerification.elementIdRule())
+                .register(ElementVerification.episodeTypeRule("episode"))
+                .register(ElementVerification.episodeTitleRule())
+                .register(ElementVerification.liveEpisodeCountRule(1))
+                .register(ElementVerification.transmissionStartBeforeEndRule())
+                .verify(body);
+    }
+}
@@ -0,0 +1,64 @@
+package com.myibltest.benchmarks;
+
+import com.myibltest.utils.JsonDocument;
+import com.myibltest.utils.paths.ElementStreamVerifier;
+import com.myibltest.utils.paths.ElementVerification;
+import io.restassured.path.json.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares extracting every element ID from the raw body with REST Assured GPath,
+ * jayway JsonPath (the cached JsonDocument) and Jackson streaming.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class ExtractionBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        body = SchedulePayloadGenerator.generate(size);
+    }
+
+    @Benchmark
+    public int gpath() {
+        List<Object> ids = JsonPath.from(new String(body, StandardCharsets.UTF_8)).getList("schedule.elements.id");
+        return ids.size();
+    }
+
+    @Benchmark
+    public int jayway() {
+        List<Object> ids = JsonDocument.parse(body).read("schedule.elements[*].id");
+        return ids.size();
+    }
+
+    @Benchmark
+    public int jacksonStreaming() {
+        ElementStreamVerifier verifier = new ElementStreamVerifier().register(ElementVerification.elementIdRule());
+        verifier.verify(body);
+        return verifier.getElementCount();
+    }
+}
@@ -0,0 +1,53 @@
+package com.myibltest.benchmarks;
+
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reference for CountItemsBenchmark: the previous per-index GPath implementation of
+ * countItemsWithValue. It is quadratic, so sizes stop well short of 100k.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class LegacyCountItemsBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private Response response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        response = SchedulePayloadGenerator.generateResponse(size);
+    }
+
+    @Benchmark
+    public int countLiveEpisodesPerIndex() {
+        List<Object> items = response.jsonPath().getList("schedule.elements");
+        int count = 0;
+        for (int i = 0; i < items.size(); i++) {
+            if (response.jsonPath().getBoolean("schedule.elements[" + i + "].episode.live")) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
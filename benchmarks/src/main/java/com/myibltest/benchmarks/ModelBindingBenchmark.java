@@ -0,0 +1,56 @@
+package com.myibltest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myibltest.model.ScheduleReader;
+import com.myibltest.model.ScheduleResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding a schedule payload to untyped maps versus the typed records, per element.
+ * Run with "-prof gc" to compare memory: gc.alloc.rate.norm is then the bytes allocated per element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelBindingBenchmark {
+    private static final int ELEMENTS = 1000;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = SchedulePayloadGenerator.generate(ELEMENTS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public Map<String, Object> maps() throws IOException {
+        return MAPPER.readValue(body, MAP_TYPE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public ScheduleResponse records() {
+        return ScheduleReader.read(body);
+    }
+}
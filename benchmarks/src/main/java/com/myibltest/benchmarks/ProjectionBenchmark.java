@@ -0,0 +1,75 @@
+package com.myibltest.benchmarks;
+
+import com.myibltest.config.ConfigManager;
+import com.myibltest.utils.JsonDocument;
+import com.myibltest.utils.paths.ElementStreamVerifier;
+import com.myibltest.utils.paths.ElementVerification;
+import com.myibltest.utils.paths.JsonPaths;
+import com.myibltest.utils.paths.PathProjection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading every episode title from a full parse versus a parse projected onto that one path,
+ * for the cached document and for streaming element verification.
+ * Run with "-prof gc" to compare the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class ProjectionBenchmark {
+    private static final String TITLE_PATH = "schedule.elements[*].episode.title";
+    private static final PathProjection TITLES = PathProjection.of(List.of(JsonPaths.EPISODE_TITLE));
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        body = SchedulePayloadGenerator.generate(size);
+        // Stream sequentially so the two verifier benchmarks differ only in projection
+        ConfigManager.getInstance().setProperty("verify.parallel.threshold", "0");
+    }
+
+    @Benchmark
+    public int fullDocument() {
+        List<Object> titles = JsonDocument.parse(body).read(TITLE_PATH);
+        return titles.size();
+    }
+
+    @Benchmark
+    public int projectedDocument() {
+        List<Object> titles = JsonDocument.parse(body, TITLES).read(TITLE_PATH);
+        return titles.size();
+    }
+
+    @Benchmark
+    public boolean fullElements() {
+        ConfigManager.getInstance().setProperty("json.projection.enabled", "false");
+        return new ElementStreamVerifier().register(ElementVerification.episodeTitleRule()).verify(body);
+    }
+
+    @Benchmark
+    public boolean projectedElements() {
+        ConfigManager.getInstance().setProperty("json.projection.enabled", "true");
+        return new ElementStreamVerifier().register(ElementVerification.episodeTitleRule()).verify(body);
+    }
+}
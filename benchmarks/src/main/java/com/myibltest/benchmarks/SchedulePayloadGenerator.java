@@ -0,0 +1,215 @@
+package com.myibltest.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Generates synthetic IBL schedule payloads of a given size.
+ * Elements are back-to-back 30 minute broadcasts with exactly one live episode, so every
+ * verification rule passes and benchmarks measure the full walk rather than an early failure.
+ */
+public final class SchedulePayloadGenerator {
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+    private static final long START_MILLIS = Instant.parse("2023-09-11T06:00:00Z").toEpochMilli();
+    private static final long SLOT_MILLIS = 30 * 60 * 1000L;
+
+    private SchedulePayloadGenerator() {
+        // Private constructor to hide the implicit public one
+    }
+
+    /**
+     * Generate a schedule payload
+     *
+     * @param elementCount the number of elements in "schedule.elements"
+     * @return the JSON document
+     */
+    public static byte[] generate(int elementCount) {
+        return generate(elementCount, 1);
+    }
+
+    /**
+     * Generate a schedule payload covering several channels. Elements of the channels are interleaved,
+     * each channel running its own back-to-back timeline.
+     *
+     * @param elementCount the number of elements in "schedule.elements"
+     * @param channelCount the number of channels
+     * @return the JSON document
+     */
+    public static byte[] generate(int elementCount, int channelCount) {
+        return generate(elementCount, channelCount, 0);
+    }
+
+    /**
+     * Generate a schedule payload covering several channels, where some elements carry their duration
+     * as an object ({"text": "30 mins", "value": "PT30M"}, as versions do) instead of a number of seconds.
+     * Readers must skip such a value whole; those elements fail only duration checks.
+     *
+     * @param elementCount the number of elements in "schedule.elements"
+     * @param channelCount the number of channels
+     * @param objectDurationEvery every this many elements has an object duration, 0 for none
+     * @return the JSON document
+     */
+    public static byte[] generate(int elementCount, int channelCount, int objectDurationEvery) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(1024, elementCount * 900));
+        try (JsonGenerator json = FACTORY.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeObjectFieldStart("schedule");
+            writeChannel(json);
+            json.writeArrayFieldStart("elements");
+            for (int i = 0; i < elementCount; i++) {
+                writeElement(json, i, i / channelCount, serviceId(i % channelCount), i == elementCount / 2,
+                        objectDurationEvery > 0 && i % objectDurationEvery == objectDurationEvery - 1);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Generate a schedule payload wrapped in a RestAssured response
+     *
+     * @param elementCount the number of elements in "schedule.elements"
+     * @return the response
+     */
+    public static Response generateResponse(int elementCount) {
+        return toResponse(generate(elementCount));
+    }
+
+    /**
+     * Wrap a payload in a RestAssured response
+     *
+     * @param body the JSON document
+     * @return the response
+     */
+    public static Response toResponse(byte[] body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType("application/json")
+                .setBody(body)
+                .build();
+    }
+
+    /**
+     * Generate timestamps in the layout used by the IBL API
+     *
+     * @param count the number of timestamps
+     * @return consecutive half-hour timestamps
+     */
+    public static String[] timestamps(int count) {
+        String[] timestamps = new String[count];
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = TIMESTAMP.format(Instant.ofEpochMilli(START_MILLIS + i * SLOT_MILLIS));
+        }
+        return timestamps;
+    }
+
+    private static void writeChannel(JsonGenerator json) throws IOException {
+        json.writeObjectFieldStart("channel");
+        json.writeStringField("id", "bbc_one_london");
+        json.writeStringField("type", "channel");
+        json.writeStringField("title", "BBC One");
+        json.writeBooleanField("has_schedule", true);
+        json.writeStringField("master_brand_id", "bbc_one");
+        json.writeStringField("master_brand_title", "BBC One");
+        json.writeEndObject();
+    }
+
+    private static String serviceId(int channel) {
+        return channel == 0 ? "bbc_one_london" : "channel_" + channel;
+    }
+
+    private static void writeElement(JsonGenerator json, int index, int slot, String serviceId, boolean live,
+                                     boolean objectDuration) throws IOException {
+        String start = TIMESTAMP.format(Instant.ofEpochMilli(START_MILLIS + slot * SLOT_MILLIS));
+        String end = TIMESTAMP.format(Instant.ofEpochMilli(START_MILLIS + (slot + 1) * SLOT_MILLIS));
+        String episodeId = "b" + String.format("%07d", index);
+        String versionId = "p" + String.format("%07d", index);
+
+        json.writeStartObject();
+        json.writeStringField("id", "e" + String.format("%07d", index));
+        json.writeStringField("type", "broadcast");
+        json.writeBooleanField("blanked", false);
+        json.writeBooleanField("repeat", index % 3 == 0);
+        json.writeStringField("scheduled_start", start);
+        json.writeStringField("scheduled_end", end);
+        if (objectDuration) {
+            json.writeObjectFieldStart("duration");
+            json.writeStringField("text", "30 mins");
+            json.writeStringField("value", "PT30M");
+            json.writeEndObject();
+        } else {
+            json.writeNumberField("duration", 1800);
+        }
+        json.writeStringField("transmission_start", start);
+        json.writeStringField("transmission_end", end);
+        json.writeStringField("episode_id", episodeId);
+        json.writeStringField("version_id", versionId);
+        json.writeStringField("service_id", serviceId);
+        json.writeStringField("channel_title", "BBC One");
+        json.writeArrayFieldStart("events");
+        json.writeEndArray();
+
+        json.writeObjectFieldStart("episode");
+        json.writeStringField("id", episodeId);
+        json.writeBooleanField("live", live);
+        json.writeStringField("type", "episode");
+        json.writeStringField("title", "Programme " + index);
+        json.writeObjectFieldStart("images");
+        json.writeStringField("type", "image");
+        json.writeStringField("standard", "https://ichef.bbci.co.uk/images/ic/{recipe}/" + episodeId + ".jpg");
+        json.writeEndObject();
+        json.writeObjectFieldStart("labels");
+        json.writeStringField("category", "News");
+        json.writeEndObject();
+        json.writeBooleanField("signed", false);
+        json.writeStringField("status", "available");
+        json.writeStringField("tleo_id", "b0" + (index % 100));
+        json.writeBooleanField("guidance", false);
+        json.writeStringField("subtitle", "Episode " + index);
+        json.writeObjectFieldStart("synopses");
+        json.writeStringField("small", "Synopsis of programme " + index + ".");
+        json.writeEndObject();
+        json.writeArrayFieldStart("versions");
+        json.writeStartObject();
+        json.writeBooleanField("hd", true);
+        json.writeStringField("id", versionId);
+        json.writeBooleanField("uhd", false);
+        json.writeStringField("kind", "original");
+        json.writeStringField("type", "version");
+        json.writeArrayFieldStart("events");
+        json.writeStartObject();
+        json.writeStringField("name", "start");
+        json.writeNumberField("offset", 0);
+        json.writeStringField("system", "pips");
+        json.writeEndObject();
+        json.writeEndArray();
+        json.writeBooleanField("download", true);
+        json.writeObjectFieldStart("duration");
+        json.writeStringField("text", "30 mins");
+        json.writeStringField("value", "PT30M");
+        json.writeEndObject();
+        json.writeStringField("first_broadcast_date_time", start);
+        json.writeEndObject();
+        json.writeEndArray();
+        json.writeStringField("tleo_type", "brand");
+        json.writeStringField("release_date_time", start);
+        json.writeEndObject();
+
+        json.writeEndObject();
+    }
+}
@@ -0,0 +1,63 @@
+package com.myibltest.benchmarks;
+
+import com.myibltest.utils.paths.TemporalIndex;
+import com.myibltest.utils.paths.TimelineAnalysis;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of indexing a schedule's timestamps and of the timeline checks over the index, for a week of
+ * half-hour slots on a growing number of interleaved channels. One element in a hundred carries an
+ * object-valued duration, which the index must skip whole.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimelineAnalysisBenchmark {
+    private static final int SLOTS_PER_WEEK = 7 * 48;
+    private static final int OBJECT_DURATION_EVERY = 100;
+
+    @Param({"1", "10", "100"})
+    private int channels;
+
+    private byte[] body;
+    private TemporalIndex index;
+
+    @Setup
+    public void setUp() {
+        int elementCount = SLOTS_PER_WEEK * channels;
+        body = SchedulePayloadGenerator.generate(elementCount, channels, OBJECT_DURATION_EVERY);
+        index = TemporalIndex.of(body);
+        if (index.size() != elementCount || !TimelineAnalysis.continuity(index, 0).isValid()) {
+            throw new IllegalStateException("Indexed " + index.size() + " of " + elementCount
+                    + " elements, continuity " + TimelineAnalysis.continuity(index, 0).getFailures());
+        }
+    }
+
+    @Benchmark
+    public TemporalIndex buildIndex() {
+        return TemporalIndex.of(body);
+    }
+
+    @Benchmark
+    public void timelineChecks(Blackhole blackhole) {
+        blackhole.consume(TimelineAnalysis.continuity(index, 0).isValid());
+        blackhole.consume(TimelineAnalysis.durations(index).isValid());
+        blackhole.consume(TimelineAnalysis.transmissionWithinSchedule(index).isValid());
+    }
+}
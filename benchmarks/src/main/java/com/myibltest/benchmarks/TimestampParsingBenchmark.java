@@ -0,0 +1,54 @@
+package com.myibltest.benchmarks;
+
+import com.myibltest.utils.IsoTimestamps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of parsing the transmission_start / transmission_end timestamps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimestampParsingBenchmark {
+    private static final int BATCH = 1024;
+
+    private String[] timestamps;
+
+    @Setup
+    public void setUp() {
+        timestamps = SchedulePayloadGenerator.timestamps(BATCH);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void offsetDateTimeParse(Blackhole blackhole) {
+        for (String timestamp : timestamps) {
+            blackhole.consume(OffsetDateTime.parse(timestamp));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void isoTimestampsParse(Blackhole blackhole) {
+        for (String timestamp : timestamps) {
+            blackhole.consume(IsoTimestamps.parseEpochMillis(timestamp));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.myibltest.baseline;
+
+/**
+ * This run against the rolling baseline, for one endpoint and one measure
+ *
+ * @param endpoint the endpoint tag
+ * @param measure "latency" (values in microseconds) or "size" (values in bytes)
+ * @param verdict the outcome
+ * @param currentMedian the median of this run
+ * @param baselineMedian the median of the baseline
+ * @param currentSamples the number of values from this run
+ * @param baselineSamples the number of values in the baseline
+ * @param pValue the Mann-Whitney p-value of this run being larger, 1 if not tested
+ */
+public record BaselineComparison(String endpoint, String measure, Verdict verdict, double currentMedian,
+                                 double baselineMedian, int currentSamples, int baselineSamples, double pValue) {
+
+    /**
+     * Outcome of a comparison
+     */
+    public enum Verdict {
+        /** Too few values in this run or the baseline to test */
+        INSUFFICIENT_DATA,
+        /** No significant increase, or one too small to matter */
+        OK,
+        /** A significant increase larger than the minimum effect */
+        REGRESSED
+    }
+
+    /**
+     * Check whether this run regressed
+     *
+     * @return true if the verdict is {@link Verdict#REGRESSED}
+     */
+    public boolean isRegressed() {
+        return verdict == Verdict.REGRESSED;
+    }
+
+    @Override
+    public String toString() {
+        boolean latency = "latency".equals(measure);
+        String unit = latency ? " ms" : " B";
+        double scale = latency ? 1000.0 : 1;
+        return String.format("%s %s %s: median %.2f%s vs baseline %.2f%s (n=%d vs %d, p=%.4f)", endpoint, measure,
+                verdict, currentMedian / scale, unit, baselineMedian / scale, unit, currentSamples, baselineSamples,
+                pValue);
+    }
+}
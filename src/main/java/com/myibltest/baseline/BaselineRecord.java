@@ -0,0 +1,16 @@
+package com.myibltest.baseline;
+
+/**
+ * The requests one scenario run sent to one endpoint, as stored by the {@link BaselineStore}
+ *
+ * @param timestampMillis when the run finished, in epoch milliseconds
+ * @param regressed true if the run was found to regress, so it is left out of later baselines
+ * @param environment what the requests were sent to, e.g. the base URL or "stub"
+ * @param scenario the scenario name
+ * @param endpoint the endpoint tag
+ * @param latencyMicros the response time of each kept request in microseconds
+ * @param sizes the body size of each kept request in bytes, in the same order
+ */
+public record BaselineRecord(long timestampMillis, boolean regressed, String environment, String scenario,
+                             String endpoint, int[] latencyMicros, int[] sizes) {
+}
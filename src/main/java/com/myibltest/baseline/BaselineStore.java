@@ -0,0 +1,181 @@
+package com.myibltest.baseline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only binary file of {@link BaselineRecord}s, one per scenario run and endpoint. Records are never
+ * rewritten, so a run that is interrupted can at worst leave a truncated last record, which readers skip.
+ * Layout, big-endian:
+ * <pre>
+ * file:   int magic "IBLB", short version, then records
+ * record: int length of what follows, long timestamp, boolean regressed,
+ *         UTF environment, UTF scenario, UTF endpoint, int count, count x (int latency us, int size)
+ * </pre>
+ * A request costs 8 bytes, so a run of 500 requests is about 4 KB. Appends take a file lock, so runs in
+ * several JVMs can share a file.
+ */
+public class BaselineStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BaselineStore.class);
+    private static final int MAGIC = 0x49424C42;
+    private static final short VERSION = 1;
+    private static final int HEADER_BYTES = 6;
+
+    private final Path file;
+
+    /**
+     * Constructor
+     *
+     * @param file the store file, created on the first append
+     */
+    public BaselineStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Get the store file
+     *
+     * @return the file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Append records
+     *
+     * @param records the records
+     * @throws IOException if the file could not be written
+     */
+    public synchronized void append(List<BaselineRecord> records) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (BaselineRecord record : records) {
+            byte[] encoded = encode(record);
+            out.writeInt(encoded.length);
+            out.write(encoded);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+             FileLock ignored = channel.lock()) {
+            if (channel.size() == 0) {
+                channel.write(ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putShort(VERSION).flip());
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Read the records of one scenario in one environment
+     *
+     * @param environment the environment
+     * @param scenario the scenario name
+     * @return the records, oldest first; empty if the file does not exist
+     * @throws IOException if the file could not be read or is not a baseline store
+     */
+    public synchronized List<BaselineRecord> read(String environment, String scenario) throws IOException {
+        List<BaselineRecord> records = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return records;
+        }
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a baseline store");
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new IOException(file + " has unsupported version " + version);
+            }
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] encoded = new byte[length];
+                try {
+                    in.readFully(encoded);
+                } catch (EOFException e) {
+                    LOGGER.warn("Ignoring a truncated record at the end of {}", file);
+                    break;
+                }
+                BaselineRecord record = decode(encoded, environment, scenario);
+                if (record != null) {
+                    records.add(record);
+                }
+            }
+        }
+        return records;
+    }
+
+    private static byte[] encode(BaselineRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + record.latencyMicros().length * 8);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(record.timestampMillis());
+        out.writeBoolean(record.regressed());
+        out.writeUTF(record.environment());
+        out.writeUTF(record.scenario());
+        out.writeUTF(record.endpoint());
+        out.writeInt(record.latencyMicros().length);
+        for (int i = 0; i < record.latencyMicros().length; i++) {
+            out.writeInt(record.latencyMicros()[i]);
+            out.writeInt(record.sizes()[i]);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode a record if it belongs to a scenario; the samples of other scenarios are not decoded
+     *
+     * @param encoded the record bytes
+     * @param environment the environment wanted
+     * @param scenario the scenario wanted
+     * @return the record, or null if it belongs to another scenario or environment
+     * @throws IOException if the record is malformed
+     */
+    private static BaselineRecord decode(byte[] encoded, String environment, String scenario) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded));
+        long timestamp = in.readLong();
+        boolean regressed = in.readBoolean();
+        String recordEnvironment = in.readUTF();
+        String recordScenario = in.readUTF();
+        if (!recordEnvironment.equals(environment) || !recordScenario.equals(scenario)) {
+            return null;
+        }
+        String endpoint = in.readUTF();
+        int count = in.readInt();
+        int[] latencies = new int[count];
+        int[] sizes = new int[count];
+        for (int i = 0; i < count; i++) {
+            latencies[i] = in.readInt();
+            sizes[i] = in.readInt();
+        }
+        return new BaselineRecord(timestamp, regressed, recordEnvironment, recordScenario, endpoint, latencies, sizes);
+    }
+}
@@ -0,0 +1,182 @@
+package com.myibltest.baseline;
+
+import com.myibltest.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the requests of each scenario run with the same scenario's previous runs, endpoint by endpoint,
+ * and stores the run in the {@link BaselineStore} for the runs after it.
+ * The baseline of an endpoint pools the last "baseline.window.runs" runs that did not regress. Response
+ * times and body sizes are each tested with a one-sided {@link MannWhitneyU} test; a measure regresses when
+ * this run is larger with a p-value below "baseline.alpha" and its median is up by at least
+ * "baseline.min.effect.percent" (and, for response times, "baseline.min.effect.ms"), so a shift that is
+ * significant but too small to matter is not reported. Either side with fewer than "baseline.min.samples"
+ * values is not tested: a scenario sending one request builds a baseline across runs, but is only compared
+ * once it sends enough requests in a run.
+ * The baseline is off unless "baseline.enabled" is set, and regressions only fail scenarios with
+ * "baseline.fail.on.regression", so an ordinary test run neither writes the store nor fails on timings.
+ */
+public class PerformanceBaseline {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PerformanceBaseline.class);
+
+    private final boolean enabled;
+    private final boolean failOnRegression;
+    private final BaselineStore store;
+    private final int windowRuns;
+    private final int minSamples;
+    private final double alpha;
+    private final double minEffectRatio;
+    private final double minEffectMicros;
+
+    // Private constructor to enforce singleton pattern
+    private PerformanceBaseline() {
+        ConfigManager configManager = ConfigManager.getInstance();
+        this.enabled = configManager.getBooleanProperty("baseline.enabled", false);
+        this.failOnRegression = configManager.getBooleanProperty("baseline.fail.on.regression", false);
+        this.store = new BaselineStore(Path.of(configManager.getProperty("baseline.file")));
+        this.windowRuns = Math.max(1, configManager.getIntProperty("baseline.window.runs", 20));
+        this.minSamples = Math.max(1, configManager.getIntProperty("baseline.min.samples", 8));
+        this.alpha = Double.parseDouble(configManager.getProperty("baseline.alpha").trim());
+        this.minEffectRatio = 1 + configManager.getIntProperty("baseline.min.effect.percent", 20) / 100.0;
+        this.minEffectMicros = configManager.getIntProperty("baseline.min.effect.ms", 5) * 1000.0;
+    }
+
+    // Lazily initialised by the class loader on first use
+    private static class Holder {
+        private static final PerformanceBaseline INSTANCE = new PerformanceBaseline();
+    }
+
+    /**
+     * Get the shared baseline
+     * @return PerformanceBaseline instance
+     */
+    public static PerformanceBaseline getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Check whether runs are compared and stored
+     *
+     * @return true if "baseline.enabled"
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Check whether a regression should fail the scenario, rather than only be reported
+     *
+     * @return true if "baseline.fail.on.regression"
+     */
+    public boolean isFailOnRegression() {
+        return failOnRegression;
+    }
+
+    /**
+     * Compare a scenario run with its baseline, then store it
+     *
+     * @param environment what the requests were sent to; runs are only compared within one environment
+     * @param scenario the scenario name
+     * @param samples the run's samples per endpoint, see {@link RunSamples#take(String)}
+     * @return the comparisons, by endpoint, latency before size; empty if disabled or the store cannot be read
+     */
+    public List<BaselineComparison> check(String environment, String scenario, Map<String, RunSamples.Samples> samples) {
+        List<BaselineComparison> comparisons = new ArrayList<>();
+        if (!enabled || samples.isEmpty()) {
+            return comparisons;
+        }
+        Map<String, Deque<BaselineRecord>> history = new HashMap<>();
+        try {
+            for (BaselineRecord record : store.read(environment, scenario)) {
+                if (!record.regressed()) {
+                    Deque<BaselineRecord> runs = history.computeIfAbsent(record.endpoint(), endpoint -> new ArrayDeque<>());
+                    runs.addLast(record);
+                    if (runs.size() > windowRuns) {
+                        runs.removeFirst();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to read performance baseline {}: {}", store.getFile(), e.getMessage());
+            return comparisons;
+        }
+
+        long now = System.currentTimeMillis();
+        List<BaselineRecord> records = new ArrayList<>();
+        for (Map.Entry<String, RunSamples.Samples> entry : new TreeMap<>(samples).entrySet()) {
+            String endpoint = entry.getKey();
+            RunSamples.Samples current = entry.getValue();
+            Deque<BaselineRecord> runs = history.getOrDefault(endpoint, new ArrayDeque<>());
+            BaselineComparison latency = compare(endpoint, "latency", current.latencyMicros(),
+                    pool(runs, true), minEffectMicros);
+            BaselineComparison size = compare(endpoint, "size", current.sizes(), pool(runs, false), 0);
+            comparisons.add(latency);
+            comparisons.add(size);
+            records.add(new BaselineRecord(now, latency.isRegressed() || size.isRegressed(), environment, scenario,
+                    endpoint, current.latencyMicros(), current.sizes()));
+        }
+
+        try {
+            store.append(records);
+        } catch (IOException e) {
+            LOGGER.error("Failed to append to performance baseline {}: {}", store.getFile(), e.getMessage());
+        }
+        return comparisons;
+    }
+
+    private BaselineComparison compare(String endpoint, String measure, int[] current, double[] baseline,
+                                       double minEffectAbsolute) {
+        double[] values = Arrays.stream(current).asDoubleStream().toArray();
+        double currentMedian = median(values);
+        double baselineMedian = median(baseline);
+        if (values.length < minSamples || baseline.length < minSamples) {
+            return new BaselineComparison(endpoint, measure, BaselineComparison.Verdict.INSUFFICIENT_DATA,
+                    currentMedian, baselineMedian, values.length, baseline.length, 1);
+        }
+        double pValue = MannWhitneyU.greater(values, baseline).pValue();
+        boolean regressed = pValue < alpha
+                && currentMedian >= baselineMedian * minEffectRatio
+                && currentMedian - baselineMedian >= minEffectAbsolute;
+        return new BaselineComparison(endpoint, measure,
+                regressed ? BaselineComparison.Verdict.REGRESSED : BaselineComparison.Verdict.OK,
+                currentMedian, baselineMedian, values.length, baseline.length, pValue);
+    }
+
+    private static double[] pool(Deque<BaselineRecord> runs, boolean latency) {
+        int total = 0;
+        for (BaselineRecord run : runs) {
+            total += run.latencyMicros().length;
+        }
+        double[] pooled = new double[total];
+        int offset = 0;
+        for (BaselineRecord run : runs) {
+            int[] values = latency ? run.latencyMicros() : run.sizes();
+            for (int value : values) {
+                pooled[offset++] = value;
+            }
+        }
+        return pooled;
+    }
+
+    private static double median(double[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
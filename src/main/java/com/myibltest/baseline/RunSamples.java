@@ -0,0 +1,110 @@
+package com.myibltest.baseline;
+
+import com.myibltest.config.ConfigManager;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and size samples of the requests sent by each running scenario, per endpoint, kept until the
+ * scenario hands them to the {@link PerformanceBaseline}. Each endpoint keeps at most
+ * "baseline.samples.per.run" requests, chosen by reservoir sampling, so a long load run is represented
+ * evenly from start to end in bounded memory.
+ */
+public class RunSamples {
+    private final Map<String, Map<String, Reservoir>> scenarios = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    // Private constructor to enforce singleton pattern
+    private RunSamples() {
+        this.capacity = Math.max(1, ConfigManager.getInstance().getIntProperty("baseline.samples.per.run", 500));
+    }
+
+    // Lazily initialised by the class loader on first use
+    private static class Holder {
+        private static final RunSamples INSTANCE = new RunSamples();
+    }
+
+    /**
+     * Get the shared samples
+     * @return RunSamples instance
+     */
+    public static RunSamples getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Add a request
+     *
+     * @param scenario the scenario that sent it
+     * @param endpoint the endpoint tag
+     * @param elapsedNanos the response time in nanoseconds
+     * @param bytes the body size in bytes
+     */
+    public void add(String scenario, String endpoint, long elapsedNanos, long bytes) {
+        scenarios.computeIfAbsent(scenario, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(endpoint, name -> new Reservoir(capacity))
+                .add(saturate(TimeUnit.NANOSECONDS.toMicros(elapsedNanos)), saturate(bytes));
+    }
+
+    /**
+     * Remove and return the samples of a scenario
+     *
+     * @param scenario the scenario
+     * @return the samples per endpoint, empty if the scenario sent no requests
+     */
+    public Map<String, Samples> take(String scenario) {
+        Map<String, Reservoir> endpoints = scenarios.remove(scenario);
+        Map<String, Samples> samples = new HashMap<>();
+        if (endpoints != null) {
+            endpoints.forEach((endpoint, reservoir) -> samples.put(endpoint, reservoir.snapshot()));
+        }
+        return samples;
+    }
+
+    private static int saturate(long value) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    /**
+     * The requests kept for one endpoint
+     *
+     * @param latencyMicros the response time of each request in microseconds
+     * @param sizes the body size of each request in bytes, in the same order
+     * @param seen the number of requests sent, kept or not
+     */
+    public record Samples(int[] latencyMicros, int[] sizes, long seen) {
+    }
+
+    /**
+     * Fixed-capacity uniform sample of a stream (Algorithm R)
+     */
+    private static final class Reservoir {
+        private final int[] latencies;
+        private final int[] sizes;
+        private long seen;
+
+        Reservoir(int capacity) {
+            this.latencies = new int[capacity];
+            this.sizes = new int[capacity];
+        }
+
+        synchronized void add(int latencyMicros, int size) {
+            long slot = seen < latencies.length ? seen : ThreadLocalRandom.current().nextLong(seen + 1);
+            seen++;
+            if (slot < latencies.length) {
+                latencies[(int) slot] = latencyMicros;
+                sizes[(int) slot] = size;
+            }
+        }
+
+        synchronized Samples snapshot() {
+            int kept = (int) Math.min(seen, latencies.length);
+            return new Samples(Arrays.copyOf(latencies, kept), Arrays.copyOf(sizes, kept), seen);
+        }
+    }
+}
@@ -8,27 +8,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Configuration manager class to handle properties and settings
+ * Configuration manager class to handle properties and settings.
+ * Safe to share between parallel scenarios: the properties are loaded once and
+ * {@link Properties} lookups are synchronized.
+ * Any default can be overridden with a system property of the same name, e.g. {@code -Dapi.stub.enabled=true}.
  */
 public class ConfigManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(ConfigManager.class);
     private static final Properties properties = new Properties();
-    private static ConfigManager instance;
 
      // Private constructor to enforce singleton pattern
     private ConfigManager() {
         loadDefaultProperties();
     }
 
+    // Lazily initialised by the class loader, so concurrent callers never see a partially loaded instance
+    private static class Holder {
+        private static final ConfigManager INSTANCE = new ConfigManager();
+    }
+
     /**
      * Get the singleton instance of ConfigManager
      * @return ConfigManager instance
      */
-    public static synchronized ConfigManager getInstance() {
-        if (instance == null) {
-            instance = new ConfigManager();
-        }
-        return instance;
+    public static ConfigManager getInstance() {
+        return Holder.INSTANCE;
     }
 
     /**
@@ -43,6 +47,89 @@ public class ConfigManager {
             properties.setProperty("api.base.url", "https://testapi.io/api/RMSTest");
             properties.setProperty("api.timeout", "10000");
             properties.setProperty("response.time.threshold", "1000");
+
+            // Shared HTTP connection pool
+            properties.setProperty("http.pool.enabled", "true");
+            properties.setProperty("http.pool.max.total", "200");
+            properties.setProperty("http.pool.max.per.route", "50");
+            properties.setProperty("http.keepalive.ms", "30000");
+            properties.setProperty("http.pool.idle.evict.ms", "60000");
+
+            // HTTP engine for the request steps: blocking (REST Assured) or async (java.net.http, HTTP/2)
+            properties.setProperty("http.engine", "blocking");
+            properties.setProperty("http.async.threads", "2");
+
+            // Response cache: off, live, record or replay
+            properties.setProperty("http.cache.mode", "off");
+            properties.setProperty("http.cache.ttl.seconds", "300");
+            properties.setProperty("http.cache.max.entries", "100");
+            properties.setProperty("http.cache.dir", "target/http-cache");
+
+            // Element verification: arrays at least this long are verified in parallel chunks (0 disables)
+            properties.setProperty("verify.parallel.threshold", "10000");
+            properties.setProperty("verify.parallel.chunk.size", "2048");
+            properties.setProperty("verify.failures.retained", "100");
+
+            // Response body logging: bytes decoded and level (TRACE, DEBUG, INFO, WARN, ERROR or OFF)
+            properties.setProperty("report.body.prefix.bytes", "1000");
+            properties.setProperty("report.body.level", "INFO");
+
+            // Asynchronous reporting: buffer size, backpressure (block, drop or sample), sink (log, jsonl or both)
+            properties.setProperty("report.async.enabled", "false");
+            properties.setProperty("report.async.buffer.size", "8192");
+            properties.setProperty("report.async.backpressure", "block");
+            properties.setProperty("report.async.sample.every", "10");
+            properties.setProperty("report.async.batch.size", "256");
+            properties.setProperty("report.async.sink", "log");
+            properties.setProperty("report.async.jsonl.file", "target/reports/report-events.jsonl");
+            properties.setProperty("report.async.flush.timeout.ms", "5000");
+
+            // Parse only the JSON paths the scenario's steps and rules read
+            properties.setProperty("json.projection.enabled", "false");
+
+            // Load generation
+            properties.setProperty("load.rampup.seconds", "0");
+            properties.setProperty("load.rampdown.seconds", "0");
+            properties.setProperty("load.verify.sample.every", "10");
+
+            // Fan-out fetching: requests in flight, requests per second per host (0 = unlimited), retries
+            properties.setProperty("fanout.concurrency", "32");
+            properties.setProperty("fanout.rate.per.host", "20");
+            properties.setProperty("fanout.retry.max.attempts", "3");
+            properties.setProperty("fanout.retry.backoff.ms", "200");
+            properties.setProperty("fanout.retry.backoff.max.ms", "5000");
+
+            // Metrics registry and its exporters (prometheus, json or both)
+            properties.setProperty("metrics.enabled", "true");
+            properties.setProperty("metrics.export.dir", "target/metrics");
+            properties.setProperty("metrics.export.formats", "prometheus,json");
+            properties.setProperty("metrics.export.interval.seconds", "0");
+
+            // Performance baseline: rolling comparison with previous runs of each scenario, opt-in
+            properties.setProperty("baseline.enabled", "false");
+            properties.setProperty("baseline.file", "perf-baseline/baseline.bin");
+            properties.setProperty("baseline.window.runs", "20");
+            properties.setProperty("baseline.samples.per.run", "500");
+            properties.setProperty("baseline.min.samples", "8");
+            properties.setProperty("baseline.alpha", "0.001");
+            properties.setProperty("baseline.min.effect.percent", "20");
+            properties.setProperty("baseline.min.effect.ms", "5");
+            properties.setProperty("baseline.fail.on.regression", "false");
+
+            // Embedded stub server, replacing api.base.url when enabled
+            properties.setProperty("api.stub.enabled", "false");
+            properties.setProperty("api.stub.port", "0");
+            properties.setProperty("api.stub.recordings.dir", "src/test/resources/recordings");
+            properties.setProperty("api.stub.latency.ms", "0");
+            properties.setProperty("api.stub.error.percent", "0");
+            properties.setProperty("api.stub.error.status", "500");
+
+            for (String key : properties.stringPropertyNames()) {
+                String override = System.getProperty(key);
+                if (override != null) {
+                    properties.setProperty(key, override);
+                }
+            }
         } catch (Exception e) {
             LOGGER.error("Failed to load default properties: {}", e.getMessage());
         }
@@ -57,6 +144,15 @@ public class ConfigManager {
         return properties.getProperty(key);
     }
 
+    /**
+     * Set a property value for the rest of the run
+     * @param key property key
+     * @param value property value
+     */
+    public void setProperty(String key, String value) {
+        properties.setProperty(key, value);
+    }
+
 
     /**
      * Get property as integer
@@ -77,4 +173,15 @@ public class ConfigManager {
             return defaultValue;
         }
     }
+
+    /**
+     * Get property as boolean
+     * @param key property key
+     * @param defaultValue default value if property is not found
+     * @return property value as boolean or default value
+     */
+    public boolean getBooleanProperty(String key, boolean defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,248 @@
+package com.myibltest.load;
+
+import com.myibltest.config.ConfigManager;
+import com.myibltest.metrics.LatencyRecorder;
+import com.myibltest.utils.RestAssuredUtils;
+import com.myibltest.utils.paths.ElementRule;
+import com.myibltest.utils.paths.ElementStreamVerifier;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Sends every request of a {@link FetchPlan} as fast as the limits allow, one virtual thread per request.
+ * <ul>
+ *     <li>Concurrency: at most "fanout.concurrency" requests exist at once. The plan is read lazily and a
+ *     request is only started when a permit is free, so neither targets nor responses pile up. With the
+ *     connection pool enabled the limit is capped at its per-route size, for the reason given in
+ *     {@link LoadGenerator}.</li>
+ *     <li>Rate: requests to each host are paced to "fanout.rate.per.host" per second.</li>
+ *     <li>Retries: connection errors, 429 and 502/503/504 are retried up to "fanout.retry.max.attempts"
+ *     attempts in all, after a "full jitter" backoff: a random delay up to base x 2^(attempt - 1),
+ *     capped, and no shorter than the server's Retry-After.</li>
+ *     <li>Verification: each 200 response is streamed through fresh element rules on the thread that
+ *     fetched it, and dropped once verified.</li>
+ * </ul>
+ */
+public class FanOutFetcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FanOutFetcher.class);
+    private static final ConfigManager configManager = ConfigManager.getInstance();
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(429, 502, 503, 504);
+
+    private final String baseUrl;
+    private int concurrency;
+    private HostRateLimiter rateLimiter;
+    private int maxAttempts;
+    private long backoffMillis;
+    private long maxBackoffMillis;
+    private Supplier<List<ElementRule>> rules;
+    private LatencyRecorder latencies;
+
+    /**
+     * Constructor. Limits start at their "fanout.*" configuration values.
+     *
+     * @param baseUrl the base URL relative templates are appended to
+     */
+    public FanOutFetcher(String baseUrl) {
+        this.baseUrl = baseUrl;
+        concurrency(configManager.getIntProperty("fanout.concurrency", 32));
+        rateLimit(configManager.getIntProperty("fanout.rate.per.host", 20));
+        retries(configManager.getIntProperty("fanout.retry.max.attempts", 3),
+                Duration.ofMillis(configManager.getIntProperty("fanout.retry.backoff.ms", 200)),
+                Duration.ofMillis(configManager.getIntProperty("fanout.retry.backoff.max.ms", 5000)));
+    }
+
+    /**
+     * Set the maximum number of requests in flight
+     *
+     * @param concurrency the limit
+     * @return this fetcher
+     */
+    public FanOutFetcher concurrency(int concurrency) {
+        int limit = Math.max(1, concurrency);
+        if (configManager.getBooleanProperty("http.pool.enabled", true)) {
+            int perRoute = configManager.getIntProperty("http.pool.max.per.route", 50);
+            if (limit > perRoute) {
+                LOGGER.warn("Fan-out concurrency {} capped at the connection pool's per-route limit {}", limit, perRoute);
+                limit = perRoute;
+            }
+        }
+        this.concurrency = limit;
+        return this;
+    }
+
+    /**
+     * Set the request rate allowed per host
+     *
+     * @param requestsPerSecond the rate, 0 for no limit
+     * @return this fetcher
+     */
+    public FanOutFetcher rateLimit(double requestsPerSecond) {
+        this.rateLimiter = new HostRateLimiter(requestsPerSecond);
+        return this;
+    }
+
+    /**
+     * Set the retry policy
+     *
+     * @param maxAttempts the attempts per target, the first one included
+     * @param backoff the backoff ceiling before the first retry, doubled for each further retry
+     * @param maxBackoff the largest backoff ceiling
+     * @return this fetcher
+     */
+    public FanOutFetcher retries(int maxAttempts, Duration backoff, Duration maxBackoff) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        return this;
+    }
+
+    /**
+     * Run element verification rules on every 200 response
+     *
+     * @param rules supplier of fresh rule instances for each response
+     * @return this fetcher
+     */
+    public FanOutFetcher verify(Supplier<List<ElementRule>> rules) {
+        this.rules = rules;
+        return this;
+    }
+
+    /**
+     * Record the latency of every attempt
+     *
+     * @param latencies the recorder, keyed by endpoint template
+     * @return this fetcher
+     */
+    public FanOutFetcher recordLatencies(LatencyRecorder latencies) {
+        this.latencies = latencies;
+        return this;
+    }
+
+    /**
+     * Fetch every target of a plan and wait for all of them
+     *
+     * @param plan the plan
+     * @return the result of the run
+     */
+    public FanOutResult run(FetchPlan plan) {
+        LOGGER.info("Starting fan-out against {}: {}, concurrency {}", baseUrl, plan, concurrency);
+        FanOutResult result = new FanOutResult(plan.size(),
+                configManager.getIntProperty("verify.failures.retained", 100));
+        Semaphore permits = new Semaphore(concurrency);
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            boolean first = true;
+            for (FetchPlan.Target target : plan) {
+                permits.acquireUninterruptibly();
+                if (first) {
+                    // Initializes REST Assured on this platform thread, see LoadGenerator
+                    first = false;
+                    fetch(target, result, permits);
+                } else {
+                    executor.submit(() -> fetch(target, result, permits));
+                }
+            }
+        }
+
+        result.setElapsedNanos(System.nanoTime() - start);
+        LOGGER.info("Fan-out finished: {}", result);
+        return result;
+    }
+
+    private void fetch(FetchPlan.Target target, FanOutResult result, Semaphore permits) {
+        try {
+            boolean absolute = target.endpoint().startsWith("http://") || target.endpoint().startsWith("https://");
+            RestAssuredUtils client = new RestAssuredUtils(absolute ? "" : baseUrl);
+            String url = client.getBaseUrl() + target.endpoint();
+            for (int attempt = 1; ; attempt++) {
+                result.recordAttempt(rateLimiter.acquire(url));
+                Response response = null;
+                String error = null;
+                long sent = System.nanoTime();
+                try {
+                    response = client.get(target.endpoint());
+                    if (latencies != null) {
+                        latencies.record(target.template(), System.nanoTime() - sent);
+                    }
+                } catch (Exception e) {
+                    error = e.getMessage();
+                }
+
+                boolean retryable = response == null || RETRYABLE_STATUSES.contains(response.getStatusCode());
+                if (!retryable || attempt >= maxAttempts) {
+                    complete(target, response, error, attempt, result);
+                    return;
+                }
+                result.recordRetry();
+                Thread.sleep(backoffMillis(attempt, response));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.recordError();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void complete(FetchPlan.Target target, Response response, String error, int attempts,
+                          FanOutResult result) {
+        if (response == null) {
+            result.recordError();
+            result.recordFailure(target.endpoint() + " failed after " + attempts + " attempt(s): " + error);
+            return;
+        }
+        int statusCode = response.getStatusCode();
+        result.recordStatus(statusCode);
+        if (statusCode != 200) {
+            result.recordFailure(target.endpoint() + " returned " + statusCode + " after " + attempts + " attempt(s)");
+        } else if (rules != null) {
+            ElementStreamVerifier verifier = new ElementStreamVerifier()
+                    .endpoint(target.template())
+                    .registerAll(rules.get());
+            boolean passed = verifier.verify(response);
+            result.recordVerification(passed);
+            if (!passed) {
+                StringJoiner failed = new StringJoiner(", ");
+                for (ElementRule rule : verifier.getRules()) {
+                    if (!rule.isValid()) {
+                        failed.add(rule.getDescription());
+                    }
+                }
+                result.recordFailure(target.endpoint() + " failed verification: " + failed);
+            }
+        }
+    }
+
+    /**
+     * Get the delay before the next attempt
+     *
+     * @param attempt the attempt that just failed, from 1
+     * @param response its response, or null
+     * @return the delay in milliseconds
+     */
+    private long backoffMillis(int attempt, Response response) {
+        long ceiling = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempt - 1, 20));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        String retryAfter = response == null ? null : response.getHeader("Retry-After");
+        if (retryAfter != null) {
+            try {
+                delay = Math.max(delay, Math.min(maxBackoffMillis, Long.parseLong(retryAfter.trim()) * 1000));
+            } catch (NumberFormatException e) {
+                // An HTTP-date Retry-After is left to the jittered delay
+            }
+        }
+        return delay;
+    }
+}
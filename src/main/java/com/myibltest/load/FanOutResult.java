@@ -0,0 +1,193 @@
+package com.myibltest.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome of a fan-out run. Updated concurrently by the request threads.
+ * Only the final attempt of each target counts towards the status codes; earlier attempts count as retries.
+ * The first failures are kept as messages, up to a fixed number.
+ */
+public class FanOutResult {
+    private final long planned;
+    private final int failuresRetained;
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder verificationFailures = new LongAdder();
+    private final LongAdder rateLimitWaitNanos = new LongAdder();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger failuresSeen = new AtomicInteger();
+    private volatile long elapsedNanos;
+
+    FanOutResult(long planned, int failuresRetained) {
+        this.planned = planned;
+        this.failuresRetained = failuresRetained;
+    }
+
+    void recordAttempt(long waitNanos) {
+        attempts.increment();
+        rateLimitWaitNanos.add(waitNanos);
+    }
+
+    void recordRetry() {
+        retries.increment();
+    }
+
+    void recordStatus(int statusCode) {
+        completed.increment();
+        statusCounts.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void recordVerification(boolean passed) {
+        verified.increment();
+        if (!passed) {
+            verificationFailures.increment();
+        }
+    }
+
+    void recordFailure(String message) {
+        if (failuresSeen.getAndIncrement() < failuresRetained) {
+            failures.add(message);
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get the number of requests in the plan
+     * @return requests planned
+     */
+    public long getPlanned() {
+        return planned;
+    }
+
+    /**
+     * Get the number of requests sent, retries included
+     * @return attempts
+     */
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    /**
+     * Get the number of attempts that were retried
+     * @return retries
+     */
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /**
+     * Get the number of targets that ended with a response
+     * @return targets completed
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * Get the number of targets that ended without a response (timeouts, connection errors)
+     * @return targets errored
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Get the number of targets whose final response had a given status code
+     * @param statusCode the status code
+     * @return the count
+     */
+    public long getStatusCount(int statusCode) {
+        LongAdder count = statusCounts.get(statusCode);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Get the count of final responses per status code
+     * @return status code counts, ordered by status code
+     */
+    public Map<Integer, Long> getStatusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statusCounts.forEach((code, count) -> counts.put(code, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Get the number of responses run through the verification rules
+     * @return responses verified
+     */
+    public long getVerified() {
+        return verified.sum();
+    }
+
+    /**
+     * Get the number of responses that failed verification
+     * @return verification failures
+     */
+    public long getVerificationFailures() {
+        return verificationFailures.sum();
+    }
+
+    /**
+     * Get the time requests spent waiting for the per-host rate limit, summed over all requests
+     * @return wait time in nanoseconds
+     */
+    public long getRateLimitWaitNanos() {
+        return rateLimitWaitNanos.sum();
+    }
+
+    /**
+     * Get the retained failure messages. When failures were dropped a final line gives the number not shown.
+     * @return the failure messages
+     */
+    public List<String> getFailures() {
+        List<String> messages = new ArrayList<>(failures);
+        int dropped = failuresSeen.get() - messages.size();
+        if (dropped > 0) {
+            messages.add("... and " + dropped + " more");
+        }
+        return messages;
+    }
+
+    /**
+     * Get the wall-clock duration of the run
+     * @return elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Get the achieved throughput
+     * @return completed targets per second
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : getCompleted() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("planned %d, attempts %d, retries %d, completed %d, errors %d, statuses %s, "
+                        + "throughput %.1f rps, rate-limit wait %d ms, verified %d (%d failed)",
+                planned, getAttempts(), getRetries(), getCompleted(), getErrors(), getStatusCounts(),
+                getThroughput(), getRateLimitWaitNanos() / 1_000_000, getVerified(), getVerificationFailures());
+    }
+}
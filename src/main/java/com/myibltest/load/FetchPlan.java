@@ -0,0 +1,122 @@
+package com.myibltest.load;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The requests of a fan-out run: every endpoint template expanded for every date in a range and every
+ * channel. Templates are paths relative to the fetcher's base URL, or absolute URLs to reach another
+ * host, with "{date}" (ISO yyyy-MM-dd) and "{channel}" placeholders, e.g.
+ * {@code /ibltest/{date}} or {@code /ibltest?date={date}&channel={channel}}.
+ * A dimension the templates do not use can be left out. Targets are generated lazily while the plan is
+ * iterated, so a plan of thousands of requests is never held in memory.
+ */
+public class FetchPlan implements Iterable<FetchPlan.Target> {
+    private final List<String> templates;
+    private List<LocalDate> dates = Collections.singletonList(null);
+    private List<String> channels = Collections.singletonList(null);
+
+    /**
+     * Constructor
+     *
+     * @param templates the endpoint templates
+     */
+    public FetchPlan(List<String> templates) {
+        if (templates.isEmpty()) {
+            throw new IllegalArgumentException("A fetch plan needs at least one endpoint template");
+        }
+        this.templates = List.copyOf(templates);
+    }
+
+    /**
+     * Expand the templates for every date from one date to another, both included
+     *
+     * @param from the first date
+     * @param to the last date
+     * @return this plan
+     */
+    public FetchPlan dates(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Date range ends before it starts: " + from + " to " + to);
+        }
+        this.dates = from.datesUntil(to.plusDays(1)).toList();
+        return this;
+    }
+
+    /**
+     * Expand the templates for every channel
+     *
+     * @param channels the channel (service) IDs
+     * @return this plan
+     */
+    public FetchPlan channels(List<String> channels) {
+        this.channels = channels.isEmpty() ? Collections.singletonList(null) : new ArrayList<>(channels);
+        return this;
+    }
+
+    /**
+     * Get the number of requests in the plan
+     *
+     * @return templates x dates x channels
+     */
+    public long size() {
+        return (long) templates.size() * dates.size() * channels.size();
+    }
+
+    @Override
+    public Iterator<Target> iterator() {
+        return new Iterator<>() {
+            private long next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size();
+            }
+
+            @Override
+            public Target next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                // Channels vary fastest, then dates, then templates
+                int channel = (int) (next % channels.size());
+                int date = (int) (next / channels.size() % dates.size());
+                int template = (int) (next / channels.size() / dates.size());
+                next++;
+                return Target.of(templates.get(template), dates.get(date), channels.get(channel));
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d template(s) x %d date(s) x %d channel(s) = %d requests",
+                templates.size(), dates.size(), channels.size(), size());
+    }
+
+    /**
+     * One expanded request
+     *
+     * @param template the template it was expanded from
+     * @param endpoint the expanded path or absolute URL
+     * @param date the date it was expanded for, or null
+     * @param channel the channel it was expanded for, or null
+     */
+    public record Target(String template, String endpoint, LocalDate date, String channel) {
+
+        static Target of(String template, LocalDate date, String channel) {
+            String endpoint = template;
+            if (date != null) {
+                endpoint = endpoint.replace("{date}", date.toString());
+            }
+            if (channel != null) {
+                endpoint = endpoint.replace("{channel}", channel);
+            }
+            return new Target(template, endpoint, date, channel);
+        }
+    }
+}
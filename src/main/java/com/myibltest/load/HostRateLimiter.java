@@ -0,0 +1,70 @@
+package com.myibltest.load;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Per-host request pacing. Each host gets evenly spaced send slots at the configured rate: a caller
+ * claims the next free slot with a CAS and parks until it comes round, so requests to one host are
+ * smoothed rather than sent in bursts, and hosts never wait on each other. Parking releases the carrier
+ * when called from a virtual thread.
+ */
+public class HostRateLimiter {
+    private final long intervalNanos;
+    private final Map<String, AtomicLong> nextSlot = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param requestsPerSecond the rate allowed per host, 0 or less for no limit
+     */
+    public HostRateLimiter(double requestsPerSecond) {
+        this.intervalNanos = requestsPerSecond > 0 ? (long) (1_000_000_000L / requestsPerSecond) : 0;
+    }
+
+    /**
+     * Wait until a request to the host of a URL may be sent
+     *
+     * @param url the request URL
+     * @return the time spent waiting, in nanoseconds
+     */
+    public long acquire(String url) {
+        if (intervalNanos == 0) {
+            return 0;
+        }
+        AtomicLong next = nextSlot.computeIfAbsent(hostOf(url), host -> new AtomicLong(System.nanoTime()));
+        long now = System.nanoTime();
+        long slot;
+        while (true) {
+            long claimed = next.get();
+            // An idle host does not bank slots: pacing restarts from now
+            slot = Math.max(claimed, now);
+            if (next.compareAndSet(claimed, slot + intervalNanos)) {
+                break;
+            }
+        }
+        long wait = slot - now;
+        while (slot - System.nanoTime() > 0) {
+            LockSupport.parkNanos(slot - System.nanoTime());
+        }
+        return Math.max(0, wait);
+    }
+
+    /**
+     * Get the key requests are paced by
+     *
+     * @param url the request URL
+     * @return the host and port, or the whole URL if it cannot be parsed
+     */
+    static String hostOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            return uri.getHost() == null ? url : uri.getHost() + ":" + uri.getPort();
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+}
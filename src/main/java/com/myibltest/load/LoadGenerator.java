@@ -0,0 +1,140 @@
+package com.myibltest.load;
+
+import com.myibltest.config.ConfigManager;
+import com.myibltest.metrics.LatencyRecorder;
+import com.myibltest.utils.RestAssuredUtils;
+import com.myibltest.utils.paths.ElementRule;
+import com.myibltest.utils.paths.ElementStreamVerifier;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Drives GET requests against an endpoint at a target rate, one virtual thread per request.
+ * Send times follow the {@link LoadProfile} schedule (open model), so a slow server
+ * raises the number of requests in flight instead of lowering the request rate.
+ * Requests in flight are capped at the connection pool's per-route limit: Apache HttpClient
+ * waits for a pooled connection inside a synchronized block, which would pin the carrier
+ * threads, so requests queue on a semaphore instead.
+ * Latencies are measured from each request's scheduled send time rather than the moment it was
+ * actually sent, so time spent queued behind a slow server counts against the server.
+ */
+public class LoadGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private final String baseUrl;
+    private final String endpoint;
+    private final Semaphore inFlight;
+    private int verifyEvery;
+    private Supplier<List<ElementRule>> rules;
+    private LatencyRecorder latencies;
+
+    /**
+     * Constructor
+     *
+     * @param baseUrl the base URL for API requests
+     * @param endpoint the API endpoint (will be appended to the base URL)
+     */
+    public LoadGenerator(String baseUrl, String endpoint) {
+        this.baseUrl = baseUrl;
+        this.endpoint = endpoint;
+        this.inFlight = new Semaphore(ConfigManager.getInstance().getIntProperty("http.pool.max.per.route", 50));
+    }
+
+    /**
+     * Run element verification rules on every n-th successful response
+     *
+     * @param every the sampling interval, 0 to disable verification
+     * @param rules supplier of fresh rule instances for each sampled response
+     * @return this generator
+     */
+    public LoadGenerator verifySampled(int every, Supplier<List<ElementRule>> rules) {
+        this.verifyEvery = every;
+        this.rules = rules;
+        return this;
+    }
+
+    /**
+     * Record the latency of every completed request
+     *
+     * @param latencies the recorder, keyed by this generator's endpoint
+     * @return this generator
+     */
+    public LoadGenerator recordLatencies(LatencyRecorder latencies) {
+        this.latencies = latencies;
+        return this;
+    }
+
+    /**
+     * Run the load profile and wait for every request to complete
+     *
+     * @param profile the load profile
+     * @return the result of the run
+     */
+    public LoadResult run(LoadProfile profile) {
+        LOGGER.info("Starting load run against {}{}: {}", baseUrl, endpoint, profile);
+        LoadResult result = new LoadResult();
+        long start = System.nanoTime();
+        long totalRequests = profile.getTotalRequests();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long requestNumber = 0; requestNumber < totalRequests; requestNumber++) {
+                long intendedStart = start + profile.sendTimeNanos(requestNumber);
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long scheduled = requestNumber;
+                result.recordSent();
+                if (scheduled == 0) {
+                    // REST Assured's Groovy runtime blocks inside class initializers, which pins virtual
+                    // threads; sending the first request on this platform thread initializes it up front
+                    execute(scheduled, intendedStart, result);
+                } else {
+                    executor.submit(() -> execute(scheduled, intendedStart, result));
+                }
+            }
+        }
+
+        result.setElapsedNanos(System.nanoTime() - start);
+        LOGGER.info("Load run finished: {}", result);
+        return result;
+    }
+
+    private void execute(long requestNumber, long intendedStart, LoadResult result) {
+        Response response;
+        try {
+            inFlight.acquire();
+            try {
+                response = new RestAssuredUtils(baseUrl).get(endpoint);
+            } finally {
+                inFlight.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.recordError();
+            return;
+        } catch (Exception e) {
+            LOGGER.debug("Request {} failed: {}", requestNumber, e.getMessage());
+            result.recordError();
+            return;
+        }
+
+        if (latencies != null) {
+            latencies.record(endpoint, System.nanoTime() - intendedStart);
+        }
+        int statusCode = response.getStatusCode();
+        result.recordStatus(statusCode);
+        if (verifyEvery > 0 && statusCode == 200 && requestNumber % verifyEvery == 0) {
+            boolean passed = new ElementStreamVerifier().endpoint(endpoint).registerAll(rules.get()).verify(response);
+            result.recordVerification(passed);
+        }
+    }
+}
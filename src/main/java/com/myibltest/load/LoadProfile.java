@@ -0,0 +1,102 @@
+package com.myibltest.load;
+
+import java.time.Duration;
+
+/**
+ * Open-model load profile: the request rate ramps linearly from zero to the target rate,
+ * holds at the target rate, then ramps back down to zero.
+ * Requests are sent on schedule whether or not earlier requests have completed.
+ */
+public class LoadProfile {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final double targetRps;
+    private final long rampUpNanos;
+    private final long holdNanos;
+    private final long rampDownNanos;
+
+    /**
+     * Constructor
+     *
+     * @param targetRps the target rate in requests per second
+     * @param rampUp the ramp-up duration
+     * @param hold the duration at the target rate
+     * @param rampDown the ramp-down duration
+     */
+    public LoadProfile(double targetRps, Duration rampUp, Duration hold, Duration rampDown) {
+        if (targetRps <= 0) {
+            throw new IllegalArgumentException("Target rate must be positive: " + targetRps);
+        }
+        this.targetRps = targetRps;
+        this.rampUpNanos = rampUp.toNanos();
+        this.holdNanos = hold.toNanos();
+        this.rampDownNanos = rampDown.toNanos();
+    }
+
+    /**
+     * Create a profile that holds a constant rate with no ramps
+     *
+     * @param targetRps the rate in requests per second
+     * @param hold the duration of the run
+     * @return the profile
+     */
+    public static LoadProfile constant(double targetRps, Duration hold) {
+        return new LoadProfile(targetRps, Duration.ZERO, hold, Duration.ZERO);
+    }
+
+    /**
+     * Get the number of requests the profile sends over the whole run
+     *
+     * @return the request count
+     */
+    public long getTotalRequests() {
+        return (long) (targetRps * (rampUpNanos / 2.0 + holdNanos + rampDownNanos / 2.0) / NANOS_PER_SECOND);
+    }
+
+    /**
+     * Get the scheduled send time of a request.
+     * The k-th request is sent when the integral of the rate over time reaches k.
+     *
+     * @param requestNumber the zero-based request number
+     * @return the send time in nanoseconds since the start of the run
+     */
+    public long sendTimeNanos(long requestNumber) {
+        double rate = targetRps / NANOS_PER_SECOND;
+        double rampUpRequests = rate * rampUpNanos / 2.0;
+        double holdRequests = rate * holdNanos;
+
+        if (requestNumber < rampUpRequests) {
+            return (long) Math.sqrt(2.0 * requestNumber * rampUpNanos / rate);
+        }
+        if (requestNumber < rampUpRequests + holdRequests) {
+            return rampUpNanos + (long) ((requestNumber - rampUpRequests) / rate);
+        }
+        double intoRampDown = requestNumber - rampUpRequests - holdRequests;
+        double remaining = Math.max(0, 1 - 2.0 * intoRampDown / (rate * rampDownNanos));
+        return rampUpNanos + holdNanos + (long) (rampDownNanos * (1 - Math.sqrt(remaining)));
+    }
+
+    /**
+     * Get the total duration of the run
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getTotalNanos() {
+        return rampUpNanos + holdNanos + rampDownNanos;
+    }
+
+    /**
+     * Get the target rate
+     *
+     * @return the rate in requests per second
+     */
+    public double getTargetRps() {
+        return targetRps;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.1f rps (ramp-up %d ms, hold %d ms, ramp-down %d ms)", targetRps,
+                rampUpNanos / 1_000_000, holdNanos / 1_000_000, rampDownNanos / 1_000_000);
+    }
+}
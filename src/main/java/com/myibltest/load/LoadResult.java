@@ -0,0 +1,126 @@
+package com.myibltest.load;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome of a load run. Updated concurrently by the request threads.
+ */
+public class LoadResult {
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder verificationFailures = new LongAdder();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private volatile long elapsedNanos;
+
+    void recordSent() {
+        sent.increment();
+    }
+
+    void recordStatus(int statusCode) {
+        completed.increment();
+        statusCounts.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void recordVerification(boolean passed) {
+        verified.increment();
+        if (!passed) {
+            verificationFailures.increment();
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get the number of requests sent
+     * @return requests sent
+     */
+    public long getSent() {
+        return sent.sum();
+    }
+
+    /**
+     * Get the number of requests that received a response
+     * @return requests completed
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * Get the number of requests that failed without a response (timeouts, connection errors)
+     * @return requests errored
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Get the number of responses with a given status code
+     * @param statusCode the status code
+     * @return the count
+     */
+    public long getStatusCount(int statusCode) {
+        LongAdder count = statusCounts.get(statusCode);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Get the count of responses per status code
+     * @return status code counts, ordered by status code
+     */
+    public Map<Integer, Long> getStatusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statusCounts.forEach((code, count) -> counts.put(code, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Get the number of sampled responses run through the verification rules
+     * @return responses verified
+     */
+    public long getVerified() {
+        return verified.sum();
+    }
+
+    /**
+     * Get the number of sampled responses that failed verification
+     * @return verification failures
+     */
+    public long getVerificationFailures() {
+        return verificationFailures.sum();
+    }
+
+    /**
+     * Get the wall-clock duration of the run, including waiting for in-flight requests
+     * @return elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Get the achieved throughput
+     * @return completed requests per second
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : getCompleted() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("sent %d, completed %d, errors %d, statuses %s, throughput %.1f rps, verified %d (%d failed)",
+                getSent(), getCompleted(), getErrors(), getStatusCounts(), getThroughput(),
+                getVerified(), getVerificationFailures());
+    }
+}
@@ -0,0 +1,52 @@
+package com.myibltest.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count that only goes up, such as the number of rule evaluations
+ */
+public class Counter extends Meter {
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Constructor
+     *
+     * @param id the name and tags
+     * @param description what is counted
+     */
+    public Counter(MeterId id, String description) {
+        super(id, description);
+    }
+
+    /**
+     * Add one
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Add an amount
+     *
+     * @param amount the amount, ignored if negative
+     */
+    public void increment(long amount) {
+        if (amount > 0) {
+            count.add(amount);
+        }
+    }
+
+    /**
+     * Get the count
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public String getType() {
+        return "counter";
+    }
+}
@@ -0,0 +1,148 @@
+package com.myibltest.metrics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of recorded amounts, such as response sizes in bytes: count, sum, maximum and a histogram
+ * of fixed buckets. Amounts are recorded as whole numbers of a base unit and exported divided by a fixed
+ * divisor, so a {@link Timer} records nanoseconds and exports seconds. Recording is lock-free; the buckets
+ * are not resizable, so the cost of a sample is constant however many are recorded.
+ */
+public class DistributionSummary extends Meter {
+
+    /**
+     * Bucket bounds for sizes in bytes: 256 B to 64 MiB in powers of 4
+     */
+    public static final long[] BYTE_BUCKETS = {
+            256, 1L << 10, 1L << 12, 1L << 14, 1L << 16, 1L << 18, 1L << 20, 1L << 22, 1L << 24, 1L << 26
+    };
+
+    private final long[] bounds;
+    private final LongAdder[] buckets;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+    private final String unit;
+    private final double divisor;
+
+    /**
+     * Constructor
+     *
+     * @param id the name and tags
+     * @param description what is recorded
+     * @param unit the exported unit, e.g. "bytes"
+     * @param bounds the inclusive upper bound of each bucket in the base unit, ascending; a final bucket
+     *               without bound catches larger amounts
+     */
+    public DistributionSummary(MeterId id, String description, String unit, long[] bounds) {
+        this(id, description, unit, bounds, 1);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param id the name and tags
+     * @param description what is recorded
+     * @param unit the exported unit
+     * @param bounds the inclusive upper bound of each bucket in the base unit, ascending
+     * @param divisor the number of base units in one exported unit
+     */
+    protected DistributionSummary(MeterId id, String description, String unit, long[] bounds, double divisor) {
+        super(id, description);
+        this.unit = unit;
+        this.bounds = bounds.clone();
+        this.divisor = divisor;
+        this.buckets = new LongAdder[bounds.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record an amount
+     *
+     * @param amount the amount in the base unit, ignored if negative
+     */
+    public void record(long amount) {
+        if (amount < 0) {
+            return;
+        }
+        int bucket = Arrays.binarySearch(bounds, amount);
+        buckets[bucket >= 0 ? bucket : -bucket - 1].increment();
+        count.increment();
+        total.add(amount);
+        max.accumulateAndGet(amount, Math::max);
+    }
+
+    /**
+     * Get the number of amounts recorded
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the sum of the amounts recorded
+     *
+     * @return the sum in the exported unit
+     */
+    public double getTotal() {
+        return total.sum() / divisor;
+    }
+
+    /**
+     * Get the largest amount recorded
+     *
+     * @return the maximum in the exported unit, 0 if nothing was recorded
+     */
+    public double getMax() {
+        return max.get() / divisor;
+    }
+
+    /**
+     * Get the mean of the amounts recorded
+     *
+     * @return the mean in the exported unit, 0 if nothing was recorded
+     */
+    public double getMean() {
+        long samples = getCount();
+        return samples == 0 ? 0 : getTotal() / samples;
+    }
+
+    /**
+     * Get the exported unit
+     *
+     * @return the unit
+     */
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * Get the histogram in the cumulative form Prometheus uses: each bucket counts every amount up to its bound
+     *
+     * @return the count at each bound in the exported unit, in ascending order, ending with
+     * {@link Double#POSITIVE_INFINITY} for the total count
+     */
+    public Map<Double, Long> getCumulativeBuckets() {
+        Map<Double, Long> cumulative = new LinkedHashMap<>();
+        long running = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            running += buckets[i].sum();
+            cumulative.put(bounds[i] / divisor, running);
+        }
+        cumulative.put(Double.POSITIVE_INFINITY, running + buckets[bounds.length].sum());
+        return cumulative;
+    }
+
+    @Override
+    public String getType() {
+        return "summary";
+    }
+}
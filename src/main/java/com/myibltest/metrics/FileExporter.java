@@ -0,0 +1,63 @@
+package com.myibltest.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Exporter replacing a file on every export. The file is written next to the target and moved into place,
+ * so a reader polling it during a long run never sees a partial export.
+ */
+abstract class FileExporter implements MetricsExporter {
+    private final Path file;
+
+    /**
+     * Constructor
+     *
+     * @param file the file to write
+     */
+    protected FileExporter(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Render the meters as the file's content
+     *
+     * @param meters the meters, ordered by name and tags
+     * @return the content
+     * @throws IOException if the meters could not be rendered
+     */
+    protected abstract String render(List<Meter> meters) throws IOException;
+
+    @Override
+    public void export(List<Meter> meters) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temporary, render(meters), StandardCharsets.UTF_8);
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Get the file written
+     *
+     * @return the file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        return file.toString();
+    }
+}
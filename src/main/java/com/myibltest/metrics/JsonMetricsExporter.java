@@ -0,0 +1,59 @@
+package com.myibltest.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the meters as one JSON document: the export time and a list of meters, each with its name, type,
+ * description and tags, and its count, or count, sum, mean, max, unit and cumulative buckets.
+ */
+public class JsonMetricsExporter extends FileExporter {
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Constructor
+     *
+     * @param file the file to write, e.g. target/metrics/metrics.json
+     */
+    public JsonMetricsExporter(Path file) {
+        super(file);
+    }
+
+    @Override
+    protected String render(List<Meter> meters) throws IOException {
+        List<Map<String, Object>> entries = new ArrayList<>(meters.size());
+        for (Meter meter : meters) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", meter.getId().name());
+            entry.put("type", meter.getType());
+            entry.put("description", meter.getDescription());
+            entry.put("tags", meter.getId().tags());
+            if (meter instanceof Counter counter) {
+                entry.put("count", counter.getCount());
+            } else if (meter instanceof DistributionSummary summary) {
+                entry.put("unit", summary.getUnit());
+                entry.put("count", summary.getCount());
+                entry.put("sum", summary.getTotal());
+                entry.put("mean", summary.getMean());
+                entry.put("max", summary.getMax());
+                Map<String, Long> buckets = new LinkedHashMap<>();
+                summary.getCumulativeBuckets().forEach((bound, count) ->
+                        buckets.put(bound == Double.POSITIVE_INFINITY ? "+Inf" : Double.toString(bound), count));
+                entry.put("buckets", buckets);
+            }
+            entries.add(entry);
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("timestamp", Instant.now().toString());
+        document.put("meters", entries);
+        return MAPPER.writeValueAsString(document);
+    }
+}
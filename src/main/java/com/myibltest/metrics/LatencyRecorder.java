@@ -0,0 +1,205 @@
+package com.myibltest.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records request latencies in one high-dynamic-range histogram per endpoint.
+ * Values are stored in microseconds from 1 us to 1 hour with three significant digits,
+ * so percentiles are accurate to 0.1% regardless of the spread of the samples.
+ * Safe to record into from many threads at once.
+ */
+public class LatencyRecorder {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LatencyRecorder.class);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    // Shared by every recorder: FileChannel locks are held per JVM, not per thread
+    private static final Object FILE_LOCK = new Object();
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Record a latency sample
+     *
+     * @param endpoint the endpoint the request was sent to
+     * @param latencyNanos the latency in nanoseconds
+     */
+    public void record(String endpoint, long latencyNanos) {
+        histogramFor(endpoint).recordValue(toMicros(latencyNanos));
+    }
+
+    /**
+     * Record a latency sample from a paced run, correcting for coordinated omission.
+     * When a request takes longer than the pacing interval, the requests that should have been
+     * sent in the meantime are back-filled with the latencies they would have seen.
+     *
+     * @param endpoint the endpoint the request was sent to
+     * @param latencyNanos the latency in nanoseconds
+     * @param expectedIntervalNanos the pacing interval between requests in nanoseconds
+     */
+    public void record(String endpoint, long latencyNanos, long expectedIntervalNanos) {
+        histogramFor(endpoint).recordValueWithExpectedInterval(toMicros(latencyNanos), toMicros(expectedIntervalNanos));
+    }
+
+    /**
+     * Get the latency at a percentile
+     *
+     * @param endpoint the endpoint
+     * @param percentile the percentile, 0 to 100 (100 gives the maximum)
+     * @return the latency in milliseconds, or 0 if nothing was recorded
+     */
+    public double getPercentileMillis(String endpoint, double percentile) {
+        Histogram histogram = histograms.get(endpoint);
+        if (histogram == null) {
+            return 0;
+        }
+        long micros = percentile >= 100 ? histogram.getMaxValue() : histogram.getValueAtPercentile(percentile);
+        return micros / MICROS_PER_MILLI;
+    }
+
+    /**
+     * Get the number of samples recorded for an endpoint
+     *
+     * @param endpoint the endpoint
+     * @return the sample count, including back-filled samples
+     */
+    public long getCount(String endpoint) {
+        Histogram histogram = histograms.get(endpoint);
+        return histogram == null ? 0 : histogram.getTotalCount();
+    }
+
+    /**
+     * Get a snapshot of an endpoint's histogram
+     *
+     * @param endpoint the endpoint
+     * @return a copy of the histogram, or null if nothing was recorded
+     */
+    public Histogram getHistogram(String endpoint) {
+        Histogram histogram = histograms.get(endpoint);
+        return histogram == null ? null : histogram.copy();
+    }
+
+    /**
+     * Get the endpoints that have samples
+     *
+     * @return the endpoints
+     */
+    public Set<String> getEndpoints() {
+        return histograms.keySet();
+    }
+
+    /**
+     * Write every histogram to a directory: a percentile distribution in milliseconds
+     * (endpoint.hgrm, replaced on every write) and an entry appended to a histogram log
+     * (endpoint.hlog) so latency can be tracked from run to run.
+     * Scenarios running in parallel write the same files, so each file is written in one piece while
+     * holding a lock shared by every recorder and a file lock for other JVMs.
+     *
+     * @param directory the output directory
+     * @param tag a tag stored with the histogram log entry, such as the scenario name
+     */
+    public void writeTo(Path directory, String tag) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            LOGGER.error("Failed to create latency directory {}: {}", directory, e.getMessage());
+            return;
+        }
+
+        histograms.forEach((endpoint, histogram) -> {
+            String fileName = fileNameFor(endpoint);
+            Histogram snapshot = histogram.copy();
+            ByteArrayOutputStream distribution = new ByteArrayOutputStream();
+            snapshot.outputPercentileDistribution(new PrintStream(distribution), MICROS_PER_MILLI);
+
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            HistogramLogWriter headerWriter = new HistogramLogWriter(new PrintStream(header));
+            headerWriter.outputLogFormatVersion();
+            headerWriter.outputLegend();
+            ByteArrayOutputStream entry = new ByteArrayOutputStream();
+            snapshot.setTag(tag.replaceAll("[\\s,]", "_"));
+            snapshot.setEndTimeStamp(System.currentTimeMillis());
+            new HistogramLogWriter(new PrintStream(entry)).outputIntervalHistogram(snapshot);
+
+            synchronized (FILE_LOCK) {
+                try {
+                    write(directory.resolve(fileName + ".hgrm"), null, distribution.toByteArray(), false);
+                } catch (IOException e) {
+                    LOGGER.error("Failed to write latency distribution for {}: {}", endpoint, e.getMessage());
+                }
+                try {
+                    write(directory.resolve(fileName + ".hlog"), header.toByteArray(), entry.toByteArray(), true);
+                } catch (IOException e) {
+                    LOGGER.error("Failed to append latency log for {}: {}", endpoint, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Replace or append to a file under a file lock
+     *
+     * @param file the file
+     * @param header written first if the file is empty, or null
+     * @param content the content
+     * @param append true to append, false to replace the file's content
+     * @throws IOException if the file could not be written
+     */
+    private static void write(Path file, byte[] header, byte[] content, boolean append) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            if (append) {
+                channel.position(channel.size());
+            } else {
+                channel.truncate(0);
+            }
+            if (header != null && channel.size() == 0) {
+                writeFully(channel, header);
+            }
+            writeFully(channel, content);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private Histogram histogramFor(String endpoint) {
+        return histograms.computeIfAbsent(endpoint, key -> {
+            Histogram histogram = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            histogram.setStartTimeStamp(System.currentTimeMillis());
+            return histogram;
+        });
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    private static String fileNameFor(String endpoint) {
+        String name = endpoint.replaceAll("[^A-Za-z0-9._-]+", "_").replaceAll("^_+|_+$", "");
+        return name.isEmpty() ? "root" : name;
+    }
+}
@@ -0,0 +1,45 @@
+package com.myibltest.metrics;
+
+/**
+ * A named, tagged measurement held by the {@link MetricsRegistry}. Safe to update from many threads at once.
+ */
+public abstract class Meter {
+    private final MeterId id;
+    private final String description;
+
+    /**
+     * Constructor
+     *
+     * @param id the name and tags
+     * @param description what the meter measures, exported as help text
+     */
+    protected Meter(MeterId id, String description) {
+        this.id = id;
+        this.description = description;
+    }
+
+    /**
+     * Get the name and tags
+     *
+     * @return the id
+     */
+    public MeterId getId() {
+        return id;
+    }
+
+    /**
+     * Get what the meter measures
+     *
+     * @return the description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Get the kind of meter, as written by the exporters
+     *
+     * @return "counter", "summary" or "timer"
+     */
+    public abstract String getType();
+}
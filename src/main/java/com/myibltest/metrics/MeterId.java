@@ -0,0 +1,59 @@
+package com.myibltest.metrics;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Identity of a meter: a dotted name such as "http.client.requests" and its tags, kept sorted by key
+ * so the same tags given in any order name the same meter.
+ *
+ * @param name the meter name
+ * @param tags the tag keys and values
+ */
+public record MeterId(String name, SortedMap<String, String> tags) implements Comparable<MeterId> {
+
+    private static final Comparator<MeterId> ORDER = Comparator.comparing(MeterId::name)
+            .thenComparing(id -> id.tags().toString());
+
+    /**
+     * Constructor
+     *
+     * @param name the meter name
+     * @param tags the tag keys and values
+     */
+    public MeterId {
+        tags = Collections.unmodifiableSortedMap(new TreeMap<>(tags));
+    }
+
+    /**
+     * Create an id from alternating tag keys and values
+     *
+     * @param name the meter name
+     * @param keyValues tag keys and values, e.g. "endpoint", "/ibltest", "status", "200"; a null value is
+     *                  stored as "none"
+     * @return the id
+     * @throws IllegalArgumentException if a key has no value
+     */
+    public static MeterId of(String name, String... keyValues) {
+        if (keyValues.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags of " + name + " must be key/value pairs: " + String.join(", ", keyValues));
+        }
+        SortedMap<String, String> tags = new TreeMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            tags.put(keyValues[i], keyValues[i + 1] == null ? "none" : keyValues[i + 1]);
+        }
+        return new MeterId(name, tags);
+    }
+
+    @Override
+    public int compareTo(MeterId other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public String toString() {
+        return name + tags;
+    }
+}
@@ -0,0 +1,19 @@
+package com.myibltest.metrics;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Publishes the meters of a {@link MetricsRegistry}. Exporters are added with
+ * {@link MetricsRegistry#addExporter(MetricsExporter)} and called on every export.
+ */
+public interface MetricsExporter {
+
+    /**
+     * Publish the current value of every meter
+     *
+     * @param meters the meters, ordered by name and tags
+     * @throws IOException if the meters could not be written
+     */
+    void export(List<Meter> meters) throws IOException;
+}
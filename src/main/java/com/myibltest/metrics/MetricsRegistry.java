@@ -0,0 +1,304 @@
+package com.myibltest.metrics;
+
+import com.myibltest.baseline.RunSamples;
+import com.myibltest.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Process-wide registry of counters, timers and distribution summaries, in the style of Micrometer.
+ * The framework records into it through the methods below, tagging every meter with the endpoint and
+ * the scenario that caused it:
+ * <ul>
+ *     <li>http.client.requests (timer, tagged with the status code): requests, status codes and response times</li>
+ *     <li>http.client.errors (counter): requests that ended without a response</li>
+ *     <li>http.client.response.size (summary): response body sizes in bytes</li>
+ *     <li>response.parse (timer): parsing, binding, indexing and streaming verification of bodies</li>
+ *     <li>rule.evaluations and rule.failures (counters, tagged with the rule): element rule outcomes</li>
+ * </ul>
+ * The scenario comes from the thread recording: {@link MetricsReport} binds it to a scenario's thread,
+ * and threads started from there (fan-out and load requests) inherit it.
+ * Meters are exported by every {@link MetricsExporter} added, by default Prometheus text and JSON in
+ * "metrics.export.dir", at the end of the run and every "metrics.export.interval.seconds" if above 0.
+ * With "metrics.enabled" false nothing is recorded or exported.
+ */
+public class MetricsRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsRegistry.class);
+    private static final InheritableThreadLocal<String> SCENARIO = new InheritableThreadLocal<>();
+    private static final Pattern ISO_DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+    private static final String NONE = "none";
+
+    private final Map<MeterId, Meter> meters = new ConcurrentHashMap<>();
+    private final List<MetricsExporter> exporters = new CopyOnWriteArrayList<>();
+    private final boolean enabled;
+
+    // Private constructor to enforce singleton pattern
+    private MetricsRegistry() {
+        ConfigManager configManager = ConfigManager.getInstance();
+        this.enabled = configManager.getBooleanProperty("metrics.enabled", true);
+        if (!enabled) {
+            return;
+        }
+        Path directory = Path.of(configManager.getProperty("metrics.export.dir"));
+        for (String format : configManager.getProperty("metrics.export.formats").split(",")) {
+            switch (format.trim()) {
+                case "prometheus" -> addExporter(new PrometheusExporter(directory.resolve("metrics.prom")));
+                case "json" -> addExporter(new JsonMetricsExporter(directory.resolve("metrics.json")));
+                case "" -> {
+                    // Nothing to add for an empty entry
+                }
+                default -> LOGGER.warn("Unknown metrics export format '{}', expected prometheus or json", format.trim());
+            }
+        }
+        int intervalSeconds = configManager.getIntProperty("metrics.export.interval.seconds", 0);
+        if (intervalSeconds > 0) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-export");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleAtFixedRate(this::export, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+            LOGGER.info("Exporting metrics every {} s", intervalSeconds);
+        }
+    }
+
+    // Lazily initialised by the class loader on first use
+    private static class Holder {
+        private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    }
+
+    /**
+     * Get the shared registry
+     * @return MetricsRegistry instance
+     */
+    public static MetricsRegistry getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Tag everything recorded on this thread, and on threads it starts, with a scenario
+     *
+     * @param scenario the scenario name
+     */
+    public static void bindScenario(String scenario) {
+        SCENARIO.set(scenario);
+    }
+
+    /**
+     * Stop tagging this thread's recordings with a scenario
+     */
+    public static void unbindScenario() {
+        SCENARIO.remove();
+    }
+
+    /**
+     * Get the scenario this thread records for
+     *
+     * @return the scenario name, or "none" outside a scenario
+     */
+    public static String currentScenario() {
+        String scenario = SCENARIO.get();
+        return scenario == null ? NONE : scenario;
+    }
+
+    /**
+     * Turn an endpoint into a tag value that does not grow with every request: the query string is dropped
+     * and ISO dates are replaced with "{date}", so a sweep over dates is one series.
+     *
+     * @param endpoint the endpoint or URL
+     * @return the tag value, "none" for null
+     */
+    public static String endpointTag(String endpoint) {
+        if (endpoint == null) {
+            return NONE;
+        }
+        int query = endpoint.indexOf('?');
+        String path = query >= 0 ? endpoint.substring(0, query) : endpoint;
+        return ISO_DATE.matcher(path).replaceAll("{date}");
+    }
+
+    /**
+     * Check whether metrics are recorded
+     *
+     * @return true if "metrics.enabled"
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get or create a counter
+     *
+     * @param name the meter name
+     * @param description what is counted, used if the counter is created
+     * @param tags tag keys and values
+     * @return the counter
+     */
+    public Counter counter(String name, String description, String... tags) {
+        return register(MeterId.of(name, tags), Counter.class, id -> new Counter(id, description));
+    }
+
+    /**
+     * Get or create a timer
+     *
+     * @param name the meter name
+     * @param description what is timed, used if the timer is created
+     * @param tags tag keys and values
+     * @return the timer
+     */
+    public Timer timer(String name, String description, String... tags) {
+        return register(MeterId.of(name, tags), Timer.class, id -> new Timer(id, description));
+    }
+
+    /**
+     * Get or create a distribution summary
+     *
+     * @param name the meter name
+     * @param description what is recorded, used if the summary is created
+     * @param unit the unit, e.g. "bytes"
+     * @param bounds the bucket bounds, used if the summary is created
+     * @param tags tag keys and values
+     * @return the summary
+     */
+    public DistributionSummary summary(String name, String description, String unit, long[] bounds, String... tags) {
+        return register(MeterId.of(name, tags), DistributionSummary.class,
+                id -> new DistributionSummary(id, description, unit, bounds));
+    }
+
+    private <T extends Meter> T register(MeterId id, Class<T> type, Function<MeterId, T> factory) {
+        Meter meter = meters.computeIfAbsent(id, factory);
+        if (meter.getClass() != type) {
+            throw new IllegalArgumentException("Meter " + id + " is a " + meter.getType() + ", not a "
+                    + type.getSimpleName());
+        }
+        return type.cast(meter);
+    }
+
+    /**
+     * Record a request that received a response. It is also sampled for the performance baseline
+     * (see {@link RunSamples}), whether or not metrics are enabled.
+     *
+     * @param endpoint the endpoint requested
+     * @param scenario the scenario that sent it
+     * @param statusCode the response status code
+     * @param bytes the body size in bytes
+     * @param elapsedNanos the time from sending the request to reading the body
+     */
+    public void recordRequest(String endpoint, String scenario, int statusCode, long bytes, long elapsedNanos) {
+        String endpointTag = endpointTag(endpoint);
+        RunSamples.getInstance().add(scenario, endpointTag, elapsedNanos, bytes);
+        if (!enabled) {
+            return;
+        }
+        timer("http.client.requests", "Time from sending a request to reading the response body",
+                "endpoint", endpointTag, "scenario", scenario, "status", Integer.toString(statusCode))
+                .record(elapsedNanos);
+        summary("http.client.response.size", "Size of response bodies", "bytes", DistributionSummary.BYTE_BUCKETS,
+                "endpoint", endpointTag, "scenario", scenario)
+                .record(bytes);
+    }
+
+    /**
+     * Record a request that ended without a response, e.g. on a timeout or connection failure
+     *
+     * @param endpoint the endpoint requested
+     * @param scenario the scenario that sent it
+     */
+    public void recordRequestError(String endpoint, String scenario) {
+        if (!enabled) {
+            return;
+        }
+        counter("http.client.errors", "Requests that ended without a response",
+                "endpoint", endpointTag(endpoint), "scenario", scenario)
+                .increment();
+    }
+
+    /**
+     * Record time spent parsing or decoding a response body, for the scenario of this thread
+     *
+     * @param endpoint the endpoint the body came from, or null if unknown
+     * @param elapsedNanos the time in nanoseconds
+     */
+    public void recordParse(String endpoint, long elapsedNanos) {
+        if (!enabled) {
+            return;
+        }
+        timer("response.parse", "Time spent parsing, binding, indexing and verifying response bodies",
+                "endpoint", endpointTag(endpoint), "scenario", currentScenario())
+                .record(elapsedNanos);
+    }
+
+    /**
+     * Record the outcome of an element rule over one response, for the scenario of this thread
+     *
+     * @param endpoint the endpoint the response came from, or null if unknown
+     * @param rule the rule description
+     * @param passed true if every element passed the rule
+     */
+    public void recordRule(String endpoint, String rule, boolean passed) {
+        if (!enabled) {
+            return;
+        }
+        String endpointTag = endpointTag(endpoint);
+        String scenario = currentScenario();
+        counter("rule.evaluations", "Element rules run over a response",
+                "endpoint", endpointTag, "scenario", scenario, "rule", rule)
+                .increment();
+        if (!passed) {
+            counter("rule.failures", "Element rules that failed over a response",
+                    "endpoint", endpointTag, "scenario", scenario, "rule", rule)
+                    .increment();
+        }
+    }
+
+    /**
+     * Get every meter
+     *
+     * @return the meters, ordered by name and tags
+     */
+    public List<Meter> getMeters() {
+        List<Meter> snapshot = new ArrayList<>(meters.values());
+        snapshot.sort((a, b) -> a.getId().compareTo(b.getId()));
+        return snapshot;
+    }
+
+    /**
+     * Add an exporter, called on every export
+     *
+     * @param exporter the exporter
+     */
+    public void addExporter(MetricsExporter exporter) {
+        exporters.add(exporter);
+    }
+
+    /**
+     * Export every meter through every exporter. An exporter that fails is logged and does not stop the others.
+     */
+    public void export() {
+        if (!enabled) {
+            return;
+        }
+        List<Meter> snapshot = getMeters();
+        for (MetricsExporter exporter : exporters) {
+            try {
+                exporter.export(snapshot);
+                LOGGER.debug("Exported {} meter(s) to {}", snapshot.size(), exporter);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.error("Failed to export metrics to {}: {}", exporter, e.getMessage());
+            }
+        }
+    }
+}
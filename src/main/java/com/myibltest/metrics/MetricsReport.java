@@ -0,0 +1,34 @@
+package com.myibltest.metrics;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cucumber plugin feeding the {@link MetricsRegistry}: each scenario's thread is bound to the scenario
+ * name so its meters are tagged with it, and the registry is exported once the run has finished.
+ * Usage: {@code plugin = "com.myibltest.metrics.MetricsReport"}
+ */
+public class MetricsReport implements ConcurrentEventListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsReport.class);
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class,
+                event -> MetricsRegistry.bindScenario(event.getTestCase().getName()));
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> MetricsRegistry.unbindScenario());
+        publisher.registerHandlerFor(TestRunFinished.class, event -> export());
+    }
+
+    private void export() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        if (registry.isEnabled()) {
+            registry.export();
+            LOGGER.info("Exported {} meter(s)", registry.getMeters().size());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.myibltest.metrics;
+
+import com.myibltest.utils.PhaseTimings;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-phase totals over the requests of one scenario: for each {@link PhaseTimings.Phase}, how many
+ * requests observed it and their total, mean and maximum time. Phases a request did not observe are
+ * left out of that phase's figures rather than counted as zero.
+ */
+public class PhaseTimingSummary {
+    private static final PhaseTimings.Phase[] PHASES = PhaseTimings.Phase.values();
+
+    private final long[] counts = new long[PHASES.length];
+    private final long[] totalNanos = new long[PHASES.length];
+    private final long[] maxNanos = new long[PHASES.length];
+    private long requests;
+    private long requestNanos;
+
+    /**
+     * Add the timings of one request
+     *
+     * @param timings the timings
+     */
+    public synchronized void add(PhaseTimings timings) {
+        requests++;
+        if (timings.getTotalNanos() != PhaseTimings.UNKNOWN) {
+            requestNanos += timings.getTotalNanos();
+        }
+        for (PhaseTimings.Phase phase : PHASES) {
+            long value = timings.get(phase);
+            if (value != PhaseTimings.UNKNOWN) {
+                int i = phase.ordinal();
+                counts[i]++;
+                totalNanos[i] += value;
+                maxNanos[i] = Math.max(maxNanos[i], value);
+            }
+        }
+    }
+
+    /**
+     * Get the number of requests added
+     *
+     * @return the request count
+     */
+    public synchronized long getRequests() {
+        return requests;
+    }
+
+    /**
+     * Get the summary as nested maps, ready to be written as JSON, with times in nanoseconds
+     *
+     * @return "requests", "totalNanos" and a "phases" map of phase name to count, total, mean and max
+     */
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (PhaseTimings.Phase phase : PHASES) {
+            int i = phase.ordinal();
+            if (counts[i] == 0) {
+                continue;
+            }
+            Map<String, Object> figures = new LinkedHashMap<>();
+            figures.put("count", counts[i]);
+            figures.put("totalNanos", totalNanos[i]);
+            figures.put("meanNanos", totalNanos[i] / counts[i]);
+            figures.put("maxNanos", maxNanos[i]);
+            phases.put(phase.name().toLowerCase(Locale.ROOT), figures);
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests);
+        summary.put("totalNanos", requestNanos);
+        summary.put("phases", phases);
+        return summary;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder text = new StringBuilder().append(requests).append(" request(s)");
+        for (PhaseTimings.Phase phase : PHASES) {
+            int i = phase.ordinal();
+            if (counts[i] > 0) {
+                text.append(String.format(", %s mean %.2f ms max %.2f ms", phase.name().toLowerCase(Locale.ROOT),
+                        totalNanos[i] / 1e6 / counts[i], maxNanos[i] / 1e6));
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,121 @@
+package com.myibltest.metrics;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the meters in the Prometheus text exposition format, ready for the node exporter's textfile
+ * collector or any tool that reads it. Dotted names become underscored and get their unit as a suffix:
+ * <ul>
+ *     <li>a counter "rule.failures" becomes rule_failures_total</li>
+ *     <li>a timer "http.client.requests" becomes the histogram http_client_requests_seconds
+ *     (_bucket, _count, _sum) and the gauge http_client_requests_seconds_max</li>
+ *     <li>a summary "http.client.response.size" in bytes becomes http_client_response_size_bytes in the same way</li>
+ * </ul>
+ */
+public class PrometheusExporter extends FileExporter {
+
+    /**
+     * Constructor
+     *
+     * @param file the file to write, e.g. target/metrics/metrics.prom
+     */
+    public PrometheusExporter(Path file) {
+        super(file);
+    }
+
+    @Override
+    protected String render(List<Meter> meters) {
+        StringBuilder text = new StringBuilder();
+        int start = 0;
+        while (start < meters.size()) {
+            // Meters are ordered by name, so each family is a contiguous run
+            String name = meters.get(start).getId().name();
+            int end = start;
+            while (end < meters.size() && meters.get(end).getId().name().equals(name)) {
+                end++;
+            }
+            writeFamily(text, meters.subList(start, end));
+            start = end;
+        }
+        return text.toString();
+    }
+
+    private static void writeFamily(StringBuilder text, List<Meter> family) {
+        Meter first = family.get(0);
+        String name = sanitize(first.getId().name());
+        if (first instanceof Counter) {
+            header(text, name + "_total", first.getDescription(), "counter");
+            for (Meter meter : family) {
+                sample(text, name + "_total", meter.getId().tags(), null, ((Counter) meter).getCount());
+            }
+        } else if (first instanceof DistributionSummary firstSummary) {
+            String base = name + "_" + sanitize(firstSummary.getUnit());
+            header(text, base, first.getDescription(), "histogram");
+            for (Meter meter : family) {
+                DistributionSummary summary = (DistributionSummary) meter;
+                Map<String, String> tags = meter.getId().tags();
+                for (Map.Entry<Double, Long> bucket : summary.getCumulativeBuckets().entrySet()) {
+                    sample(text, base + "_bucket", tags, formatBound(bucket.getKey()), bucket.getValue());
+                }
+                sample(text, base + "_count", tags, null, summary.getCount());
+                sample(text, base + "_sum", tags, null, summary.getTotal());
+            }
+            header(text, base + "_max", first.getDescription() + " (maximum)", "gauge");
+            for (Meter meter : family) {
+                sample(text, base + "_max", meter.getId().tags(), null, ((DistributionSummary) meter).getMax());
+            }
+        }
+    }
+
+    private static void header(StringBuilder text, String name, String description, String type) {
+        text.append("# HELP ").append(name).append(' ')
+                .append(description.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder text, String name, Map<String, String> tags, String le, Number value) {
+        text.append(name);
+        if (!tags.isEmpty() || le != null) {
+            text.append('{');
+            boolean firstLabel = true;
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                if (!firstLabel) {
+                    text.append(',');
+                }
+                firstLabel = false;
+                label(text, sanitize(tag.getKey()), tag.getValue());
+            }
+            if (le != null) {
+                if (!firstLabel) {
+                    text.append(',');
+                }
+                label(text, "le", le);
+            }
+            text.append('}');
+        }
+        text.append(' ').append(value).append('\n');
+    }
+
+    private static void label(StringBuilder text, String key, String value) {
+        text.append(key).append("=\"")
+                .append(value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                .append('"');
+    }
+
+    private static String formatBound(double bound) {
+        return bound == Double.POSITIVE_INFINITY ? "+Inf" : Double.toString(bound);
+    }
+
+    /**
+     * Turn a dotted name into a valid Prometheus metric or label name
+     *
+     * @param name the name
+     * @return the name with every other character than letters, digits and '_' replaced by '_'
+     */
+    static String sanitize(String name) {
+        String sanitized = name.replaceAll("[^a-zA-Z0-9_]", "_");
+        return Character.isDigit(sanitized.charAt(0)) ? "_" + sanitized : sanitized;
+    }
+}
@@ -0,0 +1,46 @@
+package com.myibltest.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distribution of durations, recorded in nanoseconds and exported in seconds.
+ * The buckets span 1 ms to 30 s, enough to tell a parse from a slow response.
+ */
+public class Timer extends DistributionSummary {
+
+    /**
+     * Bucket bounds in nanoseconds
+     */
+    public static final long[] BUCKETS = {
+            TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(5), TimeUnit.MILLISECONDS.toNanos(10),
+            TimeUnit.MILLISECONDS.toNanos(25), TimeUnit.MILLISECONDS.toNanos(50), TimeUnit.MILLISECONDS.toNanos(100),
+            TimeUnit.MILLISECONDS.toNanos(250), TimeUnit.MILLISECONDS.toNanos(500), TimeUnit.SECONDS.toNanos(1),
+            TimeUnit.MILLISECONDS.toNanos(2500), TimeUnit.SECONDS.toNanos(5), TimeUnit.SECONDS.toNanos(10),
+            TimeUnit.SECONDS.toNanos(30)
+    };
+
+    /**
+     * Constructor
+     *
+     * @param id the name and tags
+     * @param description what is timed
+     */
+    public Timer(MeterId id, String description) {
+        super(id, description, "seconds", BUCKETS, 1e9);
+    }
+
+    /**
+     * Record a duration
+     *
+     * @param duration the duration
+     */
+    public void record(Duration duration) {
+        record(duration.toNanos());
+    }
+
+    @Override
+    public String getType() {
+        return "timer";
+    }
+}
@@ -0,0 +1,22 @@
+package com.myibltest.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The "schedule.channel" object
+ *
+ * @param id the channel ID, e.g. "bbc_one_london"
+ * @param type the object type, "channel"
+ * @param title the channel title
+ * @param hasSchedule whether the channel has a schedule
+ * @param masterBrandId the master brand ID
+ * @param masterBrandTitle the master brand title
+ */
+public record Channel(
+        String id,
+        String type,
+        String title,
+        @JsonProperty("has_schedule") Boolean hasSchedule,
+        @JsonProperty("master_brand_id") String masterBrandId,
+        @JsonProperty("master_brand_title") String masterBrandTitle) {
+}
@@ -0,0 +1,66 @@
+package com.myibltest.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import com.myibltest.utils.IsoTimestamps;
+
+import java.util.List;
+
+/**
+ * An element of "schedule.elements": one broadcast of an episode.
+ * Timestamps are kept as the API's ISO-8601 text; the *Millis accessors decode them on demand.
+ * Flags and the duration are null when absent (see {@link ScheduleReader}).
+ *
+ * @param id the broadcast ID
+ * @param type the object type, e.g. "broadcast"
+ * @param blanked whether the broadcast is blanked
+ * @param repeat whether the broadcast is a repeat
+ * @param scheduledStart the scheduled start
+ * @param scheduledEnd the scheduled end
+ * @param duration the scheduled duration in seconds, or null if absent
+ * @param transmissionStart the transmission start
+ * @param transmissionEnd the transmission end
+ * @param episodeId the ID of the episode broadcast
+ * @param versionId the ID of the version broadcast
+ * @param serviceId the service (regional channel) ID
+ * @param channelTitle the channel title
+ * @param live whether the broadcast is live
+ * @param events the broadcast events, kept as read
+ * @param episode the episode broadcast
+ */
+public record Element(
+        String id,
+        String type,
+        Boolean blanked,
+        Boolean repeat,
+        @JsonProperty("scheduled_start") String scheduledStart,
+        @JsonProperty("scheduled_end") String scheduledEnd,
+        Long duration,
+        @JsonProperty("transmission_start") String transmissionStart,
+        @JsonProperty("transmission_end") String transmissionEnd,
+        @JsonProperty("episode_id") String episodeId,
+        @JsonProperty("version_id") String versionId,
+        @JsonProperty("service_id") String serviceId,
+        @JsonProperty("channel_title") String channelTitle,
+        Boolean live,
+        List<Object> events,
+        Episode episode) {
+
+    /**
+     * Get the transmission start as epoch milliseconds
+     *
+     * @return the transmission start, or {@link IsoTimestamps#INVALID} if absent or unparseable
+     */
+    public long transmissionStartMillis() {
+        return IsoTimestamps.parseEpochMillis(transmissionStart);
+    }
+
+    /**
+     * Get the transmission end as epoch milliseconds
+     *
+     * @return the transmission end, or {@link IsoTimestamps#INVALID} if absent or unparseable
+     */
+    public long transmissionEndMillis() {
+        return IsoTimestamps.parseEpochMillis(transmissionEnd);
+    }
+}
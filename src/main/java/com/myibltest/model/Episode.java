@@ -0,0 +1,63 @@
+package com.myibltest.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * The "episode" object of an element.
+ * Images and synopses are not bound: the parser skips those subtrees without building them.
+ *
+ * @param id the episode ID
+ * @param type the object type, "episode"
+ * @param title the episode title
+ * @param subtitle the episode subtitle
+ * @param live whether the episode is live
+ * @param labels the episode labels
+ * @param signed whether the episode is signed
+ * @param status the availability status
+ * @param tleoId the ID of the top level editorial object
+ * @param tleoType the type of the top level editorial object
+ * @param guidance whether the episode carries guidance
+ * @param childrens whether the episode is for children
+ * @param parentId the ID of the parent programme
+ * @param categories the category IDs
+ * @param hasCredits whether the episode has credits
+ * @param requiresAb whether the episode requires audio description
+ * @param masterBrand the master brand, kept as read
+ * @param releaseDate the human readable release date
+ * @param releaseDateTime the release date-time
+ * @param versions the versions of the episode
+ */
+@JsonIgnoreProperties(value = {"images", "synopses"}, ignoreUnknown = true)
+public record Episode(
+        String id,
+        String type,
+        String title,
+        String subtitle,
+        Boolean live,
+        Labels labels,
+        Boolean signed,
+        String status,
+        @JsonProperty("tleo_id") String tleoId,
+        @JsonProperty("tleo_type") String tleoType,
+        Boolean guidance,
+        Boolean childrens,
+        @JsonProperty("parent_id") String parentId,
+        List<String> categories,
+        @JsonProperty("has_credits") Boolean hasCredits,
+        @JsonProperty("requires_ab") Boolean requiresAb,
+        @JsonProperty("master_brand") Object masterBrand,
+        @JsonProperty("release_date") String releaseDate,
+        @JsonProperty("release_date_time") String releaseDateTime,
+        List<Version> versions) {
+
+    /**
+     * The "labels" object of an episode
+     *
+     * @param category the editorial category, e.g. "News"
+     */
+    public record Labels(String category) {
+    }
+}
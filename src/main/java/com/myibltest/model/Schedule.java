@@ -0,0 +1,12 @@
+package com.myibltest.model;
+
+import java.util.List;
+
+/**
+ * The "schedule" object: a channel and its broadcasts
+ *
+ * @param channel the channel the schedule belongs to
+ * @param elements the broadcasts, in schedule order; null if absent
+ */
+public record Schedule(Channel channel, List<Element> elements) {
+}
@@ -0,0 +1,54 @@
+package com.myibltest.model;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Binds IBL schedule payloads to the records of this package.
+ * One mapper and one type-bound reader are configured up front and shared, so the deserializers
+ * are built once per JVM instead of on every response. Fields without a record component are skipped at
+ * token level. Flags and numbers are bound to boxed components, so a field that is absent or null binds
+ * to null rather than to false or 0, and checks such as "exactly one live episode" can tell them apart.
+ */
+public final class ScheduleReader {
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private static final ObjectReader READER = MAPPER.readerFor(ScheduleResponse.class);
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ScheduleReader() {
+        // Private constructor to hide the implicit public one
+    }
+
+    /**
+     * Bind a schedule payload
+     *
+     * @param body the raw JSON document
+     * @return the bound payload
+     * @throws UncheckedIOException if the body is not valid JSON or does not match the model
+     */
+    public static ScheduleResponse read(byte[] body) {
+        try {
+            return READER.readValue(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to bind schedule payload: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the shared mapper, configured for the IBL payloads
+     *
+     * @return the mapper; callers must not reconfigure it
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+}
@@ -0,0 +1,9 @@
+package com.myibltest.model;
+
+/**
+ * Root of an IBL schedule payload
+ *
+ * @param schedule the "schedule" object, or null if absent
+ */
+public record ScheduleResponse(Schedule schedule) {
+}
@@ -0,0 +1,63 @@
+package com.myibltest.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * An element of "episode.versions": one edit of an episode
+ *
+ * @param id the version ID
+ * @param type the object type, "version"
+ * @param kind the version kind, e.g. "original"
+ * @param hd whether an HD rendition exists
+ * @param uhd whether a UHD rendition exists
+ * @param download whether the version can be downloaded
+ * @param duration the version duration
+ * @param events the version events
+ * @param availability the availability window
+ * @param firstBroadcast the human readable first broadcast
+ * @param firstBroadcastDateTime the first broadcast date-time
+ */
+public record Version(
+        String id,
+        String type,
+        String kind,
+        Boolean hd,
+        Boolean uhd,
+        Boolean download,
+        Duration duration,
+        List<Event> events,
+        Availability availability,
+        @JsonProperty("first_broadcast") String firstBroadcast,
+        @JsonProperty("first_broadcast_date_time") String firstBroadcastDateTime) {
+
+    /**
+     * The "duration" object of a version
+     *
+     * @param text the human readable duration, e.g. "30 mins"
+     * @param value the ISO-8601 duration, e.g. "PT30M"
+     */
+    public record Duration(String text, String value) {
+    }
+
+    /**
+     * An element of "versions[].events"
+     *
+     * @param name the event name, e.g. "start"
+     * @param offset the offset into the version in seconds
+     * @param system the system that produced the event
+     */
+    public record Event(String name, Long offset, String system) {
+    }
+
+    /**
+     * The "availability" object of a version
+     *
+     * @param start the start of availability
+     * @param end the end of availability
+     * @param remaining the remaining availability, kept as read
+     */
+    public record Availability(String start, String end, Object remaining) {
+    }
+}
@@ -0,0 +1,275 @@
+package com.myibltest.reporting;
+
+import com.myibltest.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous reporting pipeline. Test threads publish {@link ReportEvent}s into a lock-free
+ * {@link EventRingBuffer}; one background writer drains it in batches into the configured sinks
+ * (the log, a JSON Lines file, or both), so no test thread waits on console or file I/O.
+ * When the buffer is full the "report.async.backpressure" policy applies:
+ * <ul>
+ *     <li>block: the publisher waits for space, nothing is lost</li>
+ *     <li>drop: the event is discarded and counted</li>
+ *     <li>sample: once the buffer is half full only every "report.async.sample.every"th event is kept,
+ *     and events are dropped when it is full</li>
+ * </ul>
+ * ERROR events always wait for space. {@link #flush(long)} waits until every accepted event has been
+ * written and the writer has flushed the sinks after it, however busy the buffer is. Sinks are only ever
+ * touched by the writer thread until it has stopped, so they need not be thread-safe.
+ */
+public class AsyncReporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncReporter.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * What a publisher does when the buffer is full
+     */
+    public enum Backpressure {
+        BLOCK, DROP, SAMPLE
+    }
+
+    private final EventRingBuffer<ReportEvent> buffer;
+    private final List<ReportSink> sinks;
+    private final Backpressure backpressure;
+    private final int sampleEvery;
+    private final int batchSize;
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final AtomicLong flushTarget = new AtomicLong();
+    private final Thread writer;
+    private volatile long written;
+    private volatile long flushed;
+    private volatile boolean running = true;
+
+    /**
+     * Constructor. The writer thread is started immediately.
+     *
+     * @param capacity the buffer capacity, rounded up to a power of two
+     * @param sinks the sinks events are written to
+     * @param backpressure the policy applied when the buffer is full
+     * @param sampleEvery with {@link Backpressure#SAMPLE}, keep one event in this many under pressure
+     * @param batchSize the maximum number of events written per batch
+     */
+    public AsyncReporter(int capacity, List<ReportSink> sinks, Backpressure backpressure, int sampleEvery,
+                         int batchSize) {
+        this.buffer = new EventRingBuffer<>(capacity);
+        this.sinks = List.copyOf(sinks);
+        this.backpressure = backpressure;
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.batchSize = Math.max(1, batchSize);
+        this.writer = new Thread(this::drain, "report-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "report-writer-shutdown"));
+    }
+
+    // Lazily initialised by the class loader on first use
+    private static class Holder {
+        private static final AsyncReporter INSTANCE = fromConfig();
+    }
+
+    /**
+     * Get the shared reporter, built from the report.async.* settings on first use
+     * @return AsyncReporter instance
+     */
+    public static AsyncReporter getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static AsyncReporter fromConfig() {
+        ConfigManager configManager = ConfigManager.getInstance();
+        String sink = configManager.getProperty("report.async.sink").trim().toLowerCase(Locale.ROOT);
+        List<ReportSink> sinks = new ArrayList<>();
+        if (!"jsonl".equals(sink)) {
+            if (!"log".equals(sink) && !"both".equals(sink)) {
+                LOGGER.warn("Unknown report.async.sink '{}', using log", sink);
+            }
+            sinks.add(new LogSink());
+        }
+        if ("jsonl".equals(sink) || "both".equals(sink)) {
+            Path file = Path.of(configManager.getProperty("report.async.jsonl.file"));
+            try {
+                sinks.add(new JsonLinesSink(file));
+            } catch (IOException e) {
+                LOGGER.error("Cannot open report file {}, events go to the log instead: {}", file, e.getMessage());
+                if (sinks.isEmpty()) {
+                    sinks.add(new LogSink());
+                }
+            }
+        }
+        return new AsyncReporter(configManager.getIntProperty("report.async.buffer.size", 8192), sinks,
+                Backpressure.valueOf(configManager.getProperty("report.async.backpressure").trim().toUpperCase(Locale.ROOT)),
+                configManager.getIntProperty("report.async.sample.every", 10),
+                configManager.getIntProperty("report.async.batch.size", 256));
+    }
+
+    /**
+     * Publish an event, applying the backpressure policy if the buffer is full
+     *
+     * @param level the log level
+     * @param type the kind of event
+     * @param template the message template, with "{}" placeholders
+     * @param arguments the template arguments; {@link java.util.function.Supplier}s are evaluated by the writer
+     */
+    public void publish(Level level, String type, String template, Object... arguments) {
+        ReportEvent event = new ReportEvent(System.currentTimeMillis(), Thread.currentThread().getName(),
+                level, type, template, arguments);
+        if (level == Level.ERROR || backpressure == Backpressure.BLOCK) {
+            while (!buffer.offer(event)) {
+                if (!writer.isAlive()) {
+                    // Shutting down: nothing will make space any more
+                    dropped.increment();
+                    return;
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            }
+        } else if (backpressure == Backpressure.SAMPLE && buffer.size() >= buffer.capacity() / 2
+                && sampleCounter.getAndIncrement() % sampleEvery != 0) {
+            sampledOut.increment();
+            return;
+        } else if (!buffer.offer(event)) {
+            dropped.increment();
+            return;
+        }
+        accepted.incrementAndGet();
+    }
+
+    /**
+     * Wait until every event accepted so far has been written and the sinks flushed. The flush is
+     * requested from the writer thread, which performs it once it has written that far.
+     *
+     * @param timeoutMillis the maximum time to wait
+     * @return true if everything was written and flushed in time
+     */
+    public boolean flush(long timeoutMillis) {
+        long target = accepted.get();
+        flushTarget.accumulateAndGet(target, Math::max);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (flushed < target) {
+            if (System.nanoTime() - deadline > 0 || !writer.isAlive()) {
+                LOGGER.warn("Report flush timed out with {} event(s) unwritten or unflushed", target - flushed);
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of events discarded because the buffer was full
+     *
+     * @return the drop count
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Get the number of events discarded by sampling
+     *
+     * @return the sampled-out count
+     */
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    /**
+     * Get the number of events written to the sinks
+     *
+     * @return the written count
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    private void drain() {
+        List<ReportEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                flushIfRequested();
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            writeBatch(batch);
+            // Flush when a flush() caller's events are all written, or whenever the buffer runs dry
+            if ((written >= flushTarget.get() && flushed < flushTarget.get()) || buffer.size() == 0) {
+                flushSinks();
+            }
+        }
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+        }
+        flushSinks();
+    }
+
+    private void writeBatch(List<ReportEvent> batch) {
+        for (ReportSink sink : sinks) {
+            try {
+                sink.write(batch);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.error("Report sink {} failed: {}", sink.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        written += batch.size();
+        batch.clear();
+    }
+
+    private void flushIfRequested() {
+        if (flushed < flushTarget.get()) {
+            flushSinks();
+        }
+    }
+
+    private void flushSinks() {
+        long through = written;
+        for (ReportSink sink : sinks) {
+            try {
+                sink.flush();
+            } catch (IOException | RuntimeException e) {
+                LOGGER.error("Report sink {} failed to flush: {}", sink.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        flushed = through;
+    }
+
+    private void close() {
+        flush(TimeUnit.SECONDS.toMillis(5));
+        // Stop the writer before closing the sinks it writes to; it writes and flushes what is left first
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            LOGGER.warn("Report writer did not stop, leaving the sinks open");
+            return;
+        }
+        for (ReportSink sink : sinks) {
+            try {
+                sink.close();
+            } catch (IOException e) {
+                LOGGER.error("Failed to close report sink: {}", e.getMessage());
+            }
+        }
+    }
+}
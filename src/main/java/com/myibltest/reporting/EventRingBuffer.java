@@ -0,0 +1,93 @@
+package com.myibltest.reporting;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer.
+ * Producers claim a slot by advancing the tail with a CAS and then publish into it; the consumer
+ * reads slots in order and treats an empty slot at the head as "claimed but not yet published".
+ * Nothing blocks: a full buffer is reported to the producer, which applies its own backpressure.
+ *
+ * @param <E> the element type
+ */
+final class EventRingBuffer<E> {
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param capacity the minimum capacity, rounded up to a power of two
+     */
+    EventRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Add an element, from any thread
+     *
+     * @param element the element
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        while (true) {
+            long claimed = tail.get();
+            if (claimed - head.get() > mask) {
+                return false;
+            }
+            if (tail.compareAndSet(claimed, claimed + 1)) {
+                slots.lazySet((int) claimed & mask, element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Move published elements to a list, from the consumer thread only
+     *
+     * @param batch the list to add to
+     * @param max the maximum number of elements to move
+     * @return the number of elements moved
+     */
+    int drainTo(List<E> batch, int max) {
+        long position = head.get();
+        int moved = 0;
+        while (moved < max) {
+            int index = (int) position & mask;
+            E element = slots.get(index);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            batch.add(element);
+            position++;
+            moved++;
+        }
+        head.lazySet(position);
+        return moved;
+    }
+
+    /**
+     * Get the number of claimed slots not yet consumed
+     *
+     * @return the approximate size
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * Get the capacity
+     *
+     * @return the number of slots
+     */
+    int capacity() {
+        return mask + 1;
+    }
+}
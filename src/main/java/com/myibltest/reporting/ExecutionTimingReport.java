@@ -0,0 +1,87 @@
+package com.myibltest.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cucumber plugin reporting the wall-clock time of the run against the summed scenario durations.
+ * The ratio between the two is the speed-up gained from running scenarios in parallel.
+ * Usage: {@code plugin = "com.myibltest.reporting.ExecutionTimingReport:target/cucumber-reports/execution-timing.json"}
+ */
+public class ExecutionTimingReport implements ConcurrentEventListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionTimingReport.class);
+
+    private final File output;
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger scenarioCount = new AtomicInteger();
+    private final AtomicLong scenarioNanos = new AtomicLong();
+    private volatile Instant runStarted;
+
+    /**
+     * Constructor
+     *
+     * @param output the file the JSON summary is written to
+     */
+    public ExecutionTimingReport(File output) {
+        this.output = output;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, event -> runStarted = event.getInstant());
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> threads.add(Thread.currentThread().getName()));
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> {
+            scenarioCount.incrementAndGet();
+            scenarioNanos.addAndGet(event.getResult().getDuration().toNanos());
+        });
+        publisher.registerHandlerFor(TestRunFinished.class, this::writeReport);
+    }
+
+    private void writeReport(TestRunFinished event) {
+        if (runStarted == null) {
+            return;
+        }
+        long wallNanos = Math.max(1, Duration.between(runStarted, event.getInstant()).toNanos());
+        double speedUp = (double) scenarioNanos.get() / wallNanos;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenarios", scenarioCount.get());
+        report.put("threads", threads.size());
+        report.put("wallClockMillis", wallNanos / 1_000_000);
+        report.put("summedScenarioMillis", scenarioNanos.get() / 1_000_000);
+        report.put("speedUp", Math.round(speedUp * 100) / 100.0);
+
+        LOGGER.info("Ran {} scenarios on {} thread(s) in {} ms (summed scenario time {} ms, speed-up x{})",
+                report.get("scenarios"), report.get("threads"), report.get("wallClockMillis"),
+                report.get("summedScenarioMillis"), report.get("speedUp"));
+
+        try {
+            File parent = output.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+        } catch (IOException e) {
+            LOGGER.error("Failed to write execution timing report: {}", e.getMessage());
+        }
+    }
+}
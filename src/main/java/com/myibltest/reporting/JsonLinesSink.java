@@ -0,0 +1,65 @@
+package com.myibltest.reporting;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Sink appending one JSON object per event to a file (JSON Lines), with the fields
+ * "time", "thread", "level", "type" and "message"
+ */
+public class JsonLinesSink implements ReportSink {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+
+    /**
+     * Constructor
+     *
+     * @param file the file to append to; parent directories are created
+     * @throws IOException if the file cannot be opened
+     */
+    public JsonLinesSink(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+        this.generator = FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        // Lines are ended explicitly, not with Jackson's default " " between root values
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(List<ReportEvent> batch) throws IOException {
+        for (ReportEvent event : batch) {
+            generator.writeStartObject();
+            generator.writeStringField("time", Instant.ofEpochMilli(event.timeMillis()).toString());
+            generator.writeStringField("thread", event.thread());
+            generator.writeStringField("level", event.level().name());
+            generator.writeStringField("type", event.type());
+            generator.writeStringField("message", event.message());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
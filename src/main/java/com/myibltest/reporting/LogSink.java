@@ -0,0 +1,22 @@
+package com.myibltest.reporting;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Sink writing events to the ReportManager logger, prefixed with the name of the thread that published them
+ */
+public class LogSink implements ReportSink {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportManager.class);
+
+    @Override
+    public void write(List<ReportEvent> batch) {
+        for (ReportEvent event : batch) {
+            if (LOGGER.isEnabledForLevel(event.level())) {
+                LOGGER.atLevel(event.level()).log("[{}] {}", event.thread(), event.message());
+            }
+        }
+    }
+}
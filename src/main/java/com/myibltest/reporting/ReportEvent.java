@@ -0,0 +1,35 @@
+package com.myibltest.reporting;
+
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.util.function.Supplier;
+
+/**
+ * One structured report entry, captured on the test thread and formatted later by the writer.
+ * Arguments are kept by reference; a {@link Supplier} argument is only evaluated when the event is
+ * formatted, so expensive values (e.g. a body preview) are computed off the test thread.
+ *
+ * @param timeMillis when the event was published, epoch milliseconds
+ * @param thread the name of the publishing thread
+ * @param level the log level
+ * @param type the kind of event, e.g. "REQUEST", "RESPONSE", "STEP", "ASSERTION"
+ * @param template the message template, with SLF4J "{}" placeholders
+ * @param arguments the template arguments
+ */
+public record ReportEvent(long timeMillis, String thread, Level level, String type, String template,
+                          Object[] arguments) {
+
+    /**
+     * Format the message
+     *
+     * @return the template with its arguments substituted
+     */
+    public String message() {
+        Object[] resolved = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            resolved[i] = arguments[i] instanceof Supplier<?> supplier ? supplier.get() : arguments[i];
+        }
+        return MessageFormatter.basicArrayFormat(template, resolved);
+    }
+}
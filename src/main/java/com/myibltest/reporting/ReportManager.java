@@ -1,15 +1,25 @@
 package com.myibltest.reporting;
 
+import com.myibltest.config.ConfigManager;
+import com.myibltest.utils.BodyPreview;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
 
 import io.restassured.response.Response;
 
+import java.util.Locale;
+import java.util.function.Supplier;
+
 /**
- * Utility class for test reporting and logging
+ * Utility class for test reporting and logging.
+ * With "report.async.enabled" every entry is published to the {@link AsyncReporter} and written by its
+ * background thread; otherwise it is logged synchronously on the calling thread.
  */
 public class ReportManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(ReportManager.class);
+    private static final ConfigManager configManager = ConfigManager.getInstance();
+    private static final boolean ASYNC = configManager.getBooleanProperty("report.async.enabled", false);
 
     /**
      * Private constructor to prevent instantiation
@@ -25,7 +35,7 @@ public class ReportManager {
      * @param url request URL
      */
     public static void logRequest(String method, String url) {
-        LOGGER.info("Sending {} request to: {}", method, url);
+        report(Level.INFO, "REQUEST", "Sending {} request to: {}", method, url);
     }
 
     /**
@@ -36,8 +46,8 @@ public class ReportManager {
      * @param headers request headers
      */
     public static void logRequest(String method, String url, String headers) {
-        LOGGER.info("Sending {} request to: {}", method, url);
-        LOGGER.info("Headers: {}", headers);
+        report(Level.INFO, "REQUEST", "Sending {} request to: {}", method, url);
+        report(Level.INFO, "REQUEST", "Headers: {}", headers);
     }
 
     /**
@@ -49,27 +59,92 @@ public class ReportManager {
      * @param body request body
      */
     public static void logRequest(String method, String url, String headers, String body) {
-        LOGGER.info("Sending {} request to: {}", method, url);
-        LOGGER.info("Headers: {}", headers);
-        LOGGER.info("Body: {}", body);
+        report(Level.INFO, "REQUEST", "Sending {} request to: {}", method, url);
+        report(Level.INFO, "REQUEST", "Headers: {}", headers);
+        report(Level.INFO, "REQUEST", "Body: {}", body);
     }
 
     /**
-     * Log response details
+     * Log response details. At most "report.body.prefix.bytes" bytes of the body are decoded, at the
+     * level set by "report.body.level" (OFF to leave the body out); the body is not touched at all
+     * when that level is disabled.
      *
      * @param response the RestAssured response
      */
     public static void logResponse(Response response) {
-        LOGGER.info("Response Status: {}", response.getStatusLine());
-        LOGGER.info("Response Time: {} ms", response.getTime());
-        LOGGER.info("Response Headers: {}", response.getHeaders());
-
-        // Log response body only if it's not too large
-        String body = response.getBody().asString();
-        if (body.length() <= 1000) {
-            LOGGER.info("Response Body: {}", body);
-        } else {
-            LOGGER.info("Response Body: {} (truncated)", body.substring(0, 1000));
+        logResponse(response, response.getTime());
+    }
+
+    /**
+     * Log response details with a response time measured by the caller
+     *
+     * @param response the RestAssured response
+     * @param timeMillis the response time in milliseconds
+     * @see #logResponse(Response)
+     */
+    public static void logResponse(Response response, long timeMillis) {
+        report(Level.INFO, "RESPONSE", "Response Status: {}", response.getStatusLine());
+        report(Level.INFO, "RESPONSE", "Response Time: {} ms", timeMillis);
+        report(Level.INFO, "RESPONSE", "Response Headers: {}", response.getHeaders());
+
+        Level level = bodyLevel();
+        if (level != null && LOGGER.isEnabledForLevel(level)) {
+            int prefixBytes = configManager.getIntProperty("report.body.prefix.bytes", 1000);
+            // Decoded by whichever thread writes the entry
+            Supplier<String> body = () -> BodyPreview.of(response, prefixBytes);
+            report(level, "RESPONSE", "Response Body: {}", body);
+        }
+    }
+
+    /**
+     * Log or publish one report entry
+     *
+     * @param level the log level
+     * @param type the kind of entry
+     * @param template the message template
+     * @param arguments the template arguments; {@link Supplier}s are evaluated when the entry is written
+     */
+    private static void report(Level level, String type, String template, Object... arguments) {
+        if (ASYNC) {
+            AsyncReporter.getInstance().publish(level, type, template, arguments);
+        } else if (LOGGER.isEnabledForLevel(level)) {
+            LOGGER.atLevel(level).log(new ReportEvent(System.currentTimeMillis(), null, level, type, template,
+                    arguments).message());
+        }
+    }
+
+    /**
+     * Wait until every published entry has been written, up to "report.async.flush.timeout.ms".
+     * Does nothing when reporting is synchronous.
+     */
+    public static void flush() {
+        if (ASYNC) {
+            AsyncReporter reporter = AsyncReporter.getInstance();
+            reporter.flush(configManager.getIntProperty("report.async.flush.timeout.ms", 5000));
+            long lost = reporter.getDropped() + reporter.getSampledOut();
+            if (lost > 0) {
+                LOGGER.warn("{} report entries were dropped under backpressure ({} sampled out)", lost,
+                        reporter.getSampledOut());
+            }
+        }
+    }
+
+    /**
+     * Get the level response bodies are logged at
+     *
+     * @return the level, or null if bodies are not logged
+     */
+    private static Level bodyLevel() {
+        String property = configManager.getProperty("report.body.level");
+        String level = property == null ? "INFO" : property.trim().toUpperCase(Locale.ROOT);
+        if ("OFF".equals(level)) {
+            return null;
+        }
+        try {
+            return Level.valueOf(level);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Unknown report.body.level '{}', using INFO", level);
+            return Level.INFO;
         }
     }
 
@@ -79,7 +154,7 @@ public class ReportManager {
      * @param step step description
      */
     public static void logStep(String step) {
-        LOGGER.info("STEP: {}", step);
+        report(Level.INFO, "STEP", "STEP: {}", step);
     }
 
     /**
@@ -89,7 +164,7 @@ public class ReportManager {
      * @param result result description
      */
     public static void logStepResult(String step, String result) {
-        LOGGER.info("STEP: {} - RESULT: {}", step, result);
+        report(Level.INFO, "STEP", "STEP: {} - RESULT: {}", step, result);
     }
 
     /**
@@ -100,7 +175,7 @@ public class ReportManager {
      * @param actual actual value
      */
     public static void logAssertion(String assertion, Object expected, Object actual) {
-        LOGGER.info("ASSERTION: {} - Expected: [{}], Actual: [{}]", assertion, expected, actual);
+        report(Level.INFO, "ASSERTION", "ASSERTION: {} - Expected: [{}], Actual: [{}]", assertion, expected, actual);
     }
 
     /**
@@ -109,6 +184,6 @@ public class ReportManager {
      * @param message failure message
      */
     public static void logFailure(String message) {
-        LOGGER.error("FAILURE: {}", message);
+        report(Level.ERROR, "FAILURE", "FAILURE: {}", message);
     }
 }
@@ -0,0 +1,36 @@
+package com.myibltest.reporting;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of the events written by {@link AsyncReporter}. Sinks are only called from the writer thread.
+ */
+public interface ReportSink {
+
+    /**
+     * Write a batch of events
+     *
+     * @param batch the events, in publication order per thread
+     * @throws IOException if the events cannot be written
+     */
+    void write(List<ReportEvent> batch) throws IOException;
+
+    /**
+     * Push buffered output to its destination
+     *
+     * @throws IOException if the output cannot be flushed
+     */
+    default void flush() throws IOException {
+        // Unbuffered sinks have nothing to flush
+    }
+
+    /**
+     * Flush and release the sink
+     *
+     * @throws IOException if the output cannot be flushed
+     */
+    default void close() throws IOException {
+        flush();
+    }
+}
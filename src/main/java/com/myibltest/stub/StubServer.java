@@ -0,0 +1,193 @@
+package com.myibltest.stub;
+
+import com.myibltest.config.ConfigManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded HTTP server replaying recorded API responses from disk, so scenarios can run offline
+ * and the client and verification code can be driven far beyond the remote API's rate limits.
+ * A GET for {@code /ibltest} is answered with {@code <recordings dir>/ibltest.json}; a GET for
+ * {@code /ibltest/2023-09-11} with {@code ibltest/2023-09-11.json}. Paths without a recording get
+ * the API's 404 error body. Recordings carry an ETag and requests with a matching If-None-Match
+ * are answered 304 Not Modified. Each exchange runs on its own virtual thread, recordings are read from
+ * disk once and served from memory (a path without one is looked up again on every request), and
+ * latency and error injection are read from {@link ConfigManager}.
+ */
+public class StubServer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StubServer.class);
+    private static final int BACKLOG = 1024;
+    private static final String ERROR_BODY = "{\"error\":{\"details\":\"%s\",\"http_response_code\":%d}}";
+
+    private final Path recordingsDir;
+    private final long latencyMillis;
+    private final int errorPercent;
+    private final int errorStatus;
+    private final Map<String, Recording> recordings = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor. The server is started immediately.
+     *
+     * @param port the port to listen on, 0 for any free port
+     * @param recordingsDir the directory holding the recorded responses
+     * @param latencyMillis delay added before every response
+     * @param errorPercent percentage of requests answered with an injected error, 0 to 100
+     * @param errorStatus status code of injected errors
+     * @throws IOException if the server socket cannot be bound
+     */
+    public StubServer(int port, Path recordingsDir, long latencyMillis, int errorPercent, int errorStatus)
+            throws IOException {
+        this.recordingsDir = recordingsDir.toAbsolutePath().normalize();
+        this.latencyMillis = latencyMillis;
+        this.errorPercent = errorPercent;
+        this.errorStatus = errorStatus;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        LOGGER.info("Stub server listening on {} serving {} (latency {} ms, errors {}% as {})",
+                getBaseUrl(), this.recordingsDir, latencyMillis, errorPercent, errorStatus);
+    }
+
+    // Lazily initialised by the class loader on first use
+    private static class Holder {
+        private static final StubServer INSTANCE = fromConfig();
+    }
+
+    /**
+     * Get the shared stub server, started with the api.stub.* settings on first use
+     * @return StubServer instance
+     */
+    public static StubServer getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static StubServer fromConfig() {
+        ConfigManager configManager = ConfigManager.getInstance();
+        try {
+            return new StubServer(configManager.getIntProperty("api.stub.port", 0),
+                    Path.of(configManager.getProperty("api.stub.recordings.dir")),
+                    configManager.getIntProperty("api.stub.latency.ms", 0),
+                    configManager.getIntProperty("api.stub.error.percent", 0),
+                    configManager.getIntProperty("api.stub.error.status", 500));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start stub server", e);
+        }
+    }
+
+    /**
+     * Get the base URL the server answers on
+     *
+     * @return the base URL, without a trailing slash
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Get the number of requests served
+     *
+     * @return requests served
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Stop the server, waiting up to a second for exchanges in progress
+     */
+    public void stop() {
+        server.stop(1);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            if (errorPercent > 0 && ThreadLocalRandom.current().nextInt(100) < errorPercent) {
+                sendError(exchange, errorStatus, "Injected error");
+            } else if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Method not allowed");
+            } else {
+                Optional<Recording> recording = recordingFor(path);
+                if (recording.isPresent()) {
+                    String etag = recording.get().etag();
+                    exchange.getResponseHeaders().set("ETag", etag);
+                    if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                        exchange.sendResponseHeaders(304, -1);
+                    } else {
+                        send(exchange, 200, recording.get().body());
+                    }
+                } else {
+                    sendError(exchange, 404, "Invalid endpoint: " + path);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Optional<Recording> recordingFor(String path) {
+        // A miss is not stored, so requests for arbitrary unknown paths cannot grow the map
+        return Optional.ofNullable(recordings.computeIfAbsent(path, this::readRecording));
+    }
+
+    private Recording readRecording(String path) {
+        Path file = recordingsDir.resolve(path.replaceAll("^/+|/+$", "") + ".json").normalize();
+        if (!file.startsWith(recordingsDir) || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            byte[] body = Files.readAllBytes(file);
+            return new Recording(body, "\"" + Integer.toHexString(Arrays.hashCode(body)) + "\"");
+        } catch (IOException e) {
+            LOGGER.error("Failed to read recording {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int statusCode, String details) throws IOException {
+        String body = String.format(ERROR_BODY, details.replace("\"", "'"), statusCode);
+        send(exchange, statusCode, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int statusCode, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private record Recording(byte[] body, String etag) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.myibltest.utils;
+
+import com.myibltest.config.ConfigManager;
+import com.myibltest.metrics.MetricsRegistry;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Non-blocking alternative to {@link RestAssuredUtils}, built on {@link HttpClient#sendAsync}.
+ * Requests prefer HTTP/2, so concurrent requests to one host are multiplexed over a single connection,
+ * and no thread waits for a response: completions run on a small fixed pool of "http.async.threads"
+ * daemon threads, however many requests are in flight. Each response is adapted to a RestAssured
+ * {@link Response} and wrapped in a {@link ResponseUtils}, so the same assertions work on either engine.
+ * Requests are recorded in the {@link MetricsRegistry} against the scenario that sent them.
+ * The {@link ResponseCache} is not consulted.
+ */
+public class AsyncHttpEngine {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncHttpEngine.class);
+
+    private final HttpClient client;
+    private final Duration timeout;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder http2Responses = new LongAdder();
+
+    // Private constructor to enforce singleton pattern
+    private AsyncHttpEngine() {
+        ConfigManager configManager = ConfigManager.getInstance();
+        int threads = Math.max(1, configManager.getIntProperty("http.async.threads", 2));
+        this.timeout = Duration.ofMillis(configManager.getIntProperty("api.timeout", 10000));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "http-async-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+        LOGGER.info("Async HTTP engine created: HTTP/2 preferred, {} completion thread(s), timeout {} ms",
+                threads, timeout.toMillis());
+    }
+
+    // Lazily initialised by the class loader on first use
+    private static class Holder {
+        private static final AsyncHttpEngine INSTANCE = new AsyncHttpEngine();
+    }
+
+    /**
+     * Get the shared engine
+     * @return AsyncHttpEngine instance
+     */
+    public static AsyncHttpEngine getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Send a GET request without waiting for the response
+     *
+     * @param baseUrl the base URL for API requests
+     * @param endpoint the API endpoint (will be appended to the base URL)
+     * @return the response, completed on one of the engine's threads; completes exceptionally on a
+     * connection failure or timeout
+     */
+    public CompletableFuture<ResponseUtils> get(String baseUrl, String endpoint) {
+        String url = baseUrl + endpoint;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        LOGGER.debug("Executing async GET request to {}", url);
+        requests.increment();
+        PhaseTimings timings = new PhaseTimings();
+        // Completions run on the engine's threads, so the scenario is captured here
+        String scenario = MetricsRegistry.currentScenario();
+        // The body handler is called when the headers arrive
+        HttpResponse.BodyHandler<byte[]> handler = responseInfo -> {
+            timings.markHeadersReceived();
+            return HttpResponse.BodySubscribers.ofByteArray();
+        };
+        return client.sendAsync(request, handler)
+                .whenComplete((httpResponse, failure) -> {
+                    if (failure != null) {
+                        MetricsRegistry.getInstance().recordRequestError(endpoint, scenario);
+                    }
+                })
+                .thenApply(httpResponse -> {
+                    timings.finish();
+                    MetricsRegistry.getInstance().recordRequest(endpoint, scenario, httpResponse.statusCode(),
+                            httpResponse.body().length, timings.getTotalNanos());
+                    ResponseUtils responseUtils = new ResponseUtils(toResponse(httpResponse),
+                            TimeUnit.NANOSECONDS.toMillis(timings.getTotalNanos()), timings);
+                    responseUtils.setEndpoint(endpoint);
+                    return responseUtils;
+                });
+    }
+
+    /**
+     * Send GET requests to several endpoints at once
+     *
+     * @param baseUrl the base URL for API requests
+     * @param endpoints the API endpoints
+     * @return the responses, in the order of the endpoints, once all have completed
+     */
+    public CompletableFuture<List<ResponseUtils>> getAll(String baseUrl, List<String> endpoints) {
+        List<CompletableFuture<ResponseUtils>> futures = new ArrayList<>(endpoints.size());
+        for (String endpoint : endpoints) {
+            futures.add(get(baseUrl, endpoint));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(done -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Adapt a java.net.http response to a RestAssured one
+     *
+     * @param httpResponse the response with its body
+     * @return the RestAssured response
+     */
+    private Response toResponse(HttpResponse<byte[]> httpResponse) {
+        boolean http2 = httpResponse.version() == HttpClient.Version.HTTP_2;
+        if (http2) {
+            http2Responses.increment();
+        }
+        List<Header> headers = new ArrayList<>();
+        httpResponse.headers().map().forEach((name, values) -> {
+            for (String value : values) {
+                headers.add(new Header(name, value));
+            }
+        });
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(httpResponse.statusCode())
+                .setStatusLine((http2 ? "HTTP/2 " : "HTTP/1.1 ") + httpResponse.statusCode())
+                .setHeaders(new Headers(headers))
+                .setBody(httpResponse.body());
+        httpResponse.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        return builder.build();
+    }
+
+    /**
+     * Get the number of requests sent
+     * @return requests sent
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * Get the number of responses that came back over HTTP/2
+     * @return HTTP/2 responses
+     */
+    public long getHttp2Responses() {
+        return http2Responses.sum();
+    }
+}
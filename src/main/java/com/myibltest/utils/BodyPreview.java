@@ -0,0 +1,82 @@
+package com.myibltest.utils;
+
+import io.restassured.response.Response;
+
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Locale;
+
+/**
+ * Decodes a bounded prefix of a response body for logging.
+ * Only the first bytes of the buffered body are decoded, so a multi-megabyte response is never turned
+ * into a String just to show its start. The cut is moved back to a character boundary for UTF-8.
+ */
+public final class BodyPreview {
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private BodyPreview() {
+        // Private constructor to hide the implicit public one
+    }
+
+    /**
+     * Decode the start of a response body
+     *
+     * @param response the RestAssured response
+     * @param maxBytes the maximum number of bytes to decode
+     * @return the decoded prefix, followed by " ... (N bytes total)" when the body was cut
+     */
+    public static String of(Response response, int maxBytes) {
+        return of(response.asByteArray(), maxBytes, charsetOf(response.getContentType()));
+    }
+
+    /**
+     * Decode the start of a body
+     *
+     * @param body the raw body
+     * @param maxBytes the maximum number of bytes to decode
+     * @param charset the body's character set
+     * @return the decoded prefix, followed by " ... (N bytes total)" when the body was cut
+     */
+    public static String of(byte[] body, int maxBytes, Charset charset) {
+        if (body == null) {
+            return "";
+        }
+        if (body.length <= maxBytes) {
+            return new String(body, charset);
+        }
+        int length = Math.max(0, maxBytes);
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            // Do not cut a multi-byte sequence: back off over continuation bytes
+            while (length > 0 && (body[length] & 0xC0) == 0x80) {
+                length--;
+            }
+        }
+        return new String(body, 0, length, charset) + " ... (" + body.length + " bytes total)";
+    }
+
+    /**
+     * Get the character set named by a Content-Type header
+     *
+     * @param contentType the header value, may be null
+     * @return the named character set, or UTF-8 if none or unknown
+     */
+    static Charset charsetOf(String contentType) {
+        if (contentType != null) {
+            for (String parameter : contentType.split(";")) {
+                String trimmed = parameter.trim();
+                if (trimmed.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                    try {
+                        return Charset.forName(trimmed.substring(8).replace("\"", ""));
+                    } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+                        break;
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
@@ -0,0 +1,267 @@
+package com.myibltest.utils;
+
+import com.myibltest.config.ConfigManager;
+import org.apache.http.HttpHost;
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keep-alive connection pool shared by every {@link RestAssuredUtils} instance.
+ * Connections to the same host are reused across requests and scenarios. HTTPS
+ * connections all go through the default SSL socket factory, so TLS sessions are
+ * resumed from its session cache. Pool sizes, keep-alive and idle eviction are
+ * read from {@link ConfigManager}.
+ * The client reports the DNS, connect, TLS and time-to-first-byte phases of each request to the
+ * {@link PhaseTimings} bound to the sending thread, if any.
+ */
+@SuppressWarnings("deprecation")
+public class HttpConnectionPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpConnectionPool.class);
+
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder connectionsLeased = new LongAdder();
+    private final PoolingClientConnectionManager connectionManager;
+    private final DefaultHttpClient httpClient;
+
+    // Private constructor to enforce singleton pattern
+    private HttpConnectionPool() {
+        ConfigManager configManager = ConfigManager.getInstance();
+        long keepAliveMillis = configManager.getIntProperty("http.keepalive.ms", 30000);
+        long idleEvictMillis = configManager.getIntProperty("http.pool.idle.evict.ms", 60000);
+
+        SchemeRegistry schemeRegistry = new SchemeRegistry();
+        schemeRegistry.register(new Scheme("http", 80, new TimedSocketFactory()));
+        schemeRegistry.register(new Scheme("https", 443, new TimedTlsSocketFactory(SSLSocketFactory.getSocketFactory())));
+        connectionManager = new CountingConnectionManager(schemeRegistry);
+        connectionManager.setMaxTotal(configManager.getIntProperty("http.pool.max.total", 200));
+        connectionManager.setDefaultMaxPerRoute(configManager.getIntProperty("http.pool.max.per.route", 50));
+
+        httpClient = new DefaultHttpClient(connectionManager);
+        // Request interceptors run once the connection is open, response interceptors once the headers are in
+        httpClient.addRequestInterceptor((request, context) -> {
+            PhaseTimings timings = PhaseTimings.current();
+            if (timings != null) {
+                timings.markRequestSent();
+            }
+        });
+        httpClient.addResponseInterceptor((response, context) -> {
+            PhaseTimings timings = PhaseTimings.current();
+            if (timings != null) {
+                timings.markHeadersReceived();
+            }
+        }, 0);
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+        });
+
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleEvictMillis, TimeUnit.MILLISECONDS);
+        }, idleEvictMillis, idleEvictMillis, TimeUnit.MILLISECONDS);
+
+        LOGGER.info("HTTP connection pool created: max total {}, max per route {}, keep-alive {} ms, idle eviction {} ms",
+                connectionManager.getMaxTotal(), connectionManager.getDefaultMaxPerRoute(), keepAliveMillis, idleEvictMillis);
+    }
+
+    // Lazily initialised by the class loader on first use
+    private static class Holder {
+        private static final HttpConnectionPool INSTANCE = new HttpConnectionPool();
+    }
+
+    /**
+     * Get the shared connection pool
+     * @return HttpConnectionPool instance
+     */
+    public static HttpConnectionPool getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Get the pooled HTTP client, for use as a RestAssured HttpClientFactory
+     *
+     * @return the shared HTTP client
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Get the number of new connections opened (TCP connect plus TLS handshake for HTTPS)
+     *
+     * @return connections opened
+     */
+    public long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+
+    /**
+     * Get the number of connections handed out to requests
+     *
+     * @return connections leased
+     */
+    public long getConnectionsLeased() {
+        return connectionsLeased.sum();
+    }
+
+    /**
+     * Get the number of requests that were served on an already open connection
+     *
+     * @return connections reused
+     */
+    public long getConnectionsReused() {
+        return Math.max(0, getConnectionsLeased() - getConnectionsOpened());
+    }
+
+    /**
+     * Get the current pool statistics (leased, available, pending, max)
+     *
+     * @return the pool statistics
+     */
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Pooling manager that counts leases and newly opened connections
+     */
+    private class CountingConnectionManager extends PoolingClientConnectionManager {
+
+        CountingConnectionManager(SchemeRegistry schemeRegistry) {
+            super(schemeRegistry);
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            connectionsLeased.increment();
+            return super.requestConnection(route, state);
+        }
+
+        @Override
+        protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+            return new DefaultClientConnectionOperator(schemeRegistry) {
+                @Override
+                public void openConnection(OperatedClientConnection connection, HttpHost target, InetAddress local,
+                                           HttpContext context, HttpParams params) throws IOException {
+                    connectionsOpened.increment();
+                    super.openConnection(connection, target, local, context, params);
+                }
+
+                @Override
+                protected InetAddress[] resolveHostname(String host) throws UnknownHostException {
+                    long start = System.nanoTime();
+                    try {
+                        return super.resolveHostname(host);
+                    } finally {
+                        addPhase(PhaseTimings.Phase.DNS, start);
+                    }
+                }
+            };
+        }
+    }
+
+    private static void addPhase(PhaseTimings.Phase phase, long startNanos) {
+        PhaseTimings timings = PhaseTimings.current();
+        if (timings != null) {
+            timings.add(phase, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Plain socket factory timing the TCP connect
+     */
+    private static class TimedSocketFactory implements SchemeSocketFactory {
+        private final PlainSocketFactory plain = PlainSocketFactory.getSocketFactory();
+
+        @Override
+        public Socket createSocket(HttpParams params) {
+            return plain.createSocket(params);
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                    HttpParams params) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return plain.connectSocket(socket, remoteAddress, localAddress, params);
+            } finally {
+                addPhase(PhaseTimings.Phase.CONNECT, start);
+            }
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return false;
+        }
+    }
+
+    /**
+     * TLS socket factory timing the TCP connect and the TLS handshake separately:
+     * a plain socket is connected first and then layered with TLS, rather than connecting an SSL socket.
+     */
+    private static class TimedTlsSocketFactory extends TimedSocketFactory implements SchemeLayeredSocketFactory {
+        private final SchemeLayeredSocketFactory tls;
+
+        TimedTlsSocketFactory(SchemeLayeredSocketFactory tls) {
+            this.tls = tls;
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                    HttpParams params) throws IOException {
+            Socket connected = super.connectSocket(socket, remoteAddress, localAddress, params);
+            String host = remoteAddress instanceof HttpInetSocketAddress address
+                    ? address.getHttpHost().getHostName() : remoteAddress.getHostString();
+            return createLayeredSocket(connected, host, remoteAddress.getPort(), params);
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return tls.createLayeredSocket(socket, target, port, params);
+            } finally {
+                addPhase(PhaseTimings.Phase.TLS, start);
+            }
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.myibltest.utils;
+
+import java.time.DateTimeException;
+import java.time.OffsetDateTime;
+
+/**
+ * Parser for the API's UTC timestamps ("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", e.g. "2023-09-11T06:00:00.000Z")
+ * straight to epoch milliseconds. The fixed layout is decoded digit by digit without allocating;
+ * any other ISO-8601 offset date-time falls back to {@link OffsetDateTime#parse(CharSequence)}.
+ */
+public final class IsoTimestamps {
+
+    /**
+     * Returned for text that is not a valid timestamp
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final int LENGTH = 24;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int DAYS_0000_TO_1970 = 719_468;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private IsoTimestamps() {
+        // Private constructor to hide the implicit public one
+    }
+
+    /**
+     * Parse a timestamp
+     *
+     * @param text the timestamp
+     * @return epoch milliseconds, or {@link #INVALID}
+     */
+    public static long parseEpochMillis(CharSequence text) {
+        if (text == null) {
+            return INVALID;
+        }
+        if (text.length() == LENGTH && text.charAt(4) == '-' && text.charAt(7) == '-' && text.charAt(10) == 'T'
+                && text.charAt(13) == ':' && text.charAt(16) == ':' && text.charAt(19) == '.' && text.charAt(23) == 'Z') {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 2);
+            int day = digits(text, 8, 2);
+            int hour = digits(text, 11, 2);
+            int minute = digits(text, 14, 2);
+            int second = digits(text, 17, 2);
+            int millis = digits(text, 20, 3);
+            return toEpochMillis(year, month, day, hour, minute, second, millis);
+        }
+        return parseFallback(text);
+    }
+
+    /**
+     * Parse a timestamp held in a character buffer, such as the text buffer of a streaming JSON parser
+     *
+     * @param text the buffer
+     * @param offset the start of the timestamp
+     * @param length the length of the timestamp
+     * @return epoch milliseconds, or {@link #INVALID}
+     */
+    public static long parseEpochMillis(char[] text, int offset, int length) {
+        if (length == LENGTH && text[offset + 4] == '-' && text[offset + 7] == '-' && text[offset + 10] == 'T'
+                && text[offset + 13] == ':' && text[offset + 16] == ':' && text[offset + 19] == '.'
+                && text[offset + 23] == 'Z') {
+            int year = digits(text, offset, 4);
+            int month = digits(text, offset + 5, 2);
+            int day = digits(text, offset + 8, 2);
+            int hour = digits(text, offset + 11, 2);
+            int minute = digits(text, offset + 14, 2);
+            int second = digits(text, offset + 17, 2);
+            int millis = digits(text, offset + 20, 3);
+            return toEpochMillis(year, month, day, hour, minute, second, millis);
+        }
+        return parseFallback(new String(text, offset, length));
+    }
+
+    /**
+     * Check whether text is a timestamp in the API's fixed layout
+     *
+     * @param text the text to check
+     * @return true if the text has the fixed layout and is a valid date-time
+     */
+    public static boolean isCanonical(CharSequence text) {
+        return text != null && text.length() == LENGTH && text.charAt(23) == 'Z' && text.charAt(19) == '.'
+                && parseEpochMillis(text) != INVALID;
+    }
+
+    private static int digits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int digits(char[] text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static long toEpochMillis(int year, int month, int day, int hour, int minute, int second, int millis) {
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || millis < 0) {
+            return INVALID;
+        }
+        return epochDay(year, month, day) * MILLIS_PER_DAY
+                + hour * 3_600_000L + minute * 60_000L + second * 1_000L + millis;
+    }
+
+    /**
+     * Days since 1970-01-01 of a proleptic Gregorian date (years 0 to 9999)
+     */
+    private static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static long parseFallback(CharSequence text) {
+        try {
+            return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+        } catch (DateTimeException | ArithmeticException e) {
+            return INVALID;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.myibltest.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Counts the items of a JSON array that match one or more predicates in a single traversal.
+ * Each predicate reads a dot-separated field path relative to the item (for example "episode.live");
+ * items where the path does not exist are not counted.
+ */
+public class ItemCounter {
+    private static final Object MISSING = new Object();
+
+    private final List<String> names = new ArrayList<>();
+    private final List<String[]> fieldPaths = new ArrayList<>();
+    private final List<Predicate<Object>> predicates = new ArrayList<>();
+
+    /**
+     * Count items whose field equals a value.
+     * Numbers are compared by value, so an Integer 1 matches a Long 1.
+     *
+     * @param name the name the count is reported under
+     * @param fieldPath the field path relative to the item
+     * @param value the value to match
+     * @return this counter
+     */
+    public ItemCounter count(String name, String fieldPath, Object value) {
+        return countMatching(name, fieldPath, actual -> valuesEqual(actual, value));
+    }
+
+    /**
+     * Count items whose field matches a predicate
+     *
+     * @param name the name the count is reported under
+     * @param fieldPath the field path relative to the item
+     * @param predicate the predicate applied to the field value
+     * @return this counter
+     */
+    public ItemCounter countMatching(String name, String fieldPath, Predicate<Object> predicate) {
+        names.add(name);
+        fieldPaths.add(splitPath(fieldPath));
+        predicates.add(predicate);
+        return this;
+    }
+
+    /**
+     * Walk the items once and evaluate every registered predicate on each of them
+     *
+     * @param items the array items
+     * @return the count for each registered name, in registration order
+     */
+    public Map<String, Integer> countIn(List<?> items) {
+        int[] counts = new int[names.size()];
+        if (items != null) {
+            for (Object item : items) {
+                for (int p = 0; p < counts.length; p++) {
+                    Object value = resolve(item, fieldPaths.get(p));
+                    if (value != MISSING && predicates.get(p).test(value)) {
+                        counts[p]++;
+                    }
+                }
+            }
+        }
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int p = 0; p < counts.length; p++) {
+            result.put(names.get(p), counts[p]);
+        }
+        return result;
+    }
+
+    /**
+     * Resolve a field path against an item
+     *
+     * @param item the array item
+     * @param segments the field path segments
+     * @return the field value, or MISSING if the path does not exist
+     */
+    private static Object resolve(Object item, String[] segments) {
+        Object current = item;
+        for (String segment : segments) {
+            if (!(current instanceof Map<?, ?> map) || !map.containsKey(segment)) {
+                return MISSING;
+            }
+            current = map.get(segment);
+        }
+        return current;
+    }
+
+    /**
+     * Split a dot-separated field path, ignoring a leading dot
+     *
+     * @param fieldPath the field path
+     * @return the path segments
+     */
+    private static String[] splitPath(String fieldPath) {
+        String trimmed = fieldPath.startsWith(".") ? fieldPath.substring(1) : fieldPath;
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("\\.");
+    }
+
+    /**
+     * Compare two JSON values, treating numbers of different boxed types as equal when their values are
+     *
+     * @param actual the value read from the item
+     * @param expected the expected value
+     * @return true if the values are equal
+     */
+    private static boolean valuesEqual(Object actual, Object expected) {
+        if (actual instanceof Number a && expected instanceof Number e) {
+            if (isIntegral(a) && isIntegral(e)) {
+                return a.longValue() == e.longValue();
+            }
+            return Double.compare(a.doubleValue(), e.doubleValue()) == 0;
+        }
+        return Objects.equals(actual, expected);
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long
+                || number instanceof Short || number instanceof Byte;
+    }
+}
@@ -0,0 +1,189 @@
+package com.myibltest.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import com.myibltest.utils.paths.PathProjection;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable parsed JSON document.
+ * The document is parsed once with Jackson and every lookup is answered from the parsed tree. Every object
+ * and array in the tree is unmodifiable, as is any list a lookup collects, so a caller cannot change what
+ * later lookups on the same document see.
+ * Paths use jayway JsonPath syntax; a leading "$." is optional, so the dotted paths in
+ * {@link com.myibltest.utils.paths.JsonPaths} can be used as they are. Two GPath habits are translated
+ * rather than silently reading null: the "[]" subscript of those paths means "[*]", and in a plain dotted
+ * path a field name after an array is read from every element, so "schedule.elements.id" is read as
+ * "schedule.elements[*].id". GPath closures and size() have no JsonPath equivalent and are rejected.
+ */
+public final class JsonDocument {
+    private static final Configuration CONFIGURATION = Configuration.builder()
+            .jsonProvider(new JacksonJsonProvider())
+            .mappingProvider(new JacksonMappingProvider())
+            .options(Option.SUPPRESS_EXCEPTIONS)
+            .build();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern DOTTED_PATH = Pattern.compile(
+            "(\\$\\.?)?[A-Za-z_][\\w-]*(\\[(\\d+|\\*)])*(\\.[A-Za-z_][\\w-]*(\\[(\\d+|\\*)])*)*");
+    private static final Pattern SUBSCRIPT = Pattern.compile("\\[(\\d+|\\*)]");
+    private static final Pattern GPATH_ONLY = Pattern.compile("\\{|\\.size\\(\\)");
+
+    private final DocumentContext context;
+
+    private JsonDocument(Object root) {
+        this.context = JsonPath.using(CONFIGURATION).parse(freeze(root));
+    }
+
+    /**
+     * Parse a JSON document
+     *
+     * @param body the raw JSON document
+     * @return the parsed document
+     * @throws com.jayway.jsonpath.InvalidJsonException if the body is not valid JSON
+     */
+    public static JsonDocument parse(byte[] body) {
+        return new JsonDocument(JsonPath.using(CONFIGURATION).parse(new ByteArrayInputStream(body)).json());
+    }
+
+    /**
+     * Parse only the given paths of a JSON document; every other subtree is skipped while parsing.
+     * Reads of paths outside the projection find nothing.
+     *
+     * @param body the raw JSON document
+     * @param projection the paths to keep
+     * @return the parsed document
+     * @throws InvalidJsonException if the body is not valid JSON
+     */
+    public static JsonDocument parse(byte[] body, PathProjection projection) {
+        if (projection.isWholeDocument()) {
+            return parse(body);
+        }
+        try (JsonParser parser = MAPPER.getFactory().createParser(body)) {
+            Object root = parser.nextToken() == null ? null : projection.read(parser);
+            return new JsonDocument(root != null ? root : new LinkedHashMap<>());
+        } catch (IOException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    /**
+     * Read the value at a path
+     *
+     * @param path the JsonPath expression
+     * @return the value at the path, or null if the path does not exist
+     * @throws IllegalArgumentException if the path uses GPath syntax with no JsonPath equivalent
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(String path) {
+        Object value = context.read(toJsonPath(path));
+        // Wildcard and filter results are collected into a new list
+        return (T) (value instanceof List<?> list ? Collections.unmodifiableList(list) : value);
+    }
+
+    /**
+     * Read the value at a path, converted to the given type
+     *
+     * @param path the JsonPath expression
+     * @param type the type to convert to
+     * @return the value at the path, or null if the path does not exist
+     * @throws IllegalArgumentException if the path uses GPath syntax with no JsonPath equivalent
+     */
+    public <T> T read(String path, Class<T> type) {
+        return context.read(toJsonPath(path), type);
+    }
+
+    /**
+     * Make a parsed tree unmodifiable, wrapping each object and array in place rather than copying it
+     *
+     * @param value a parsed value
+     * @return the value, with every Map and List replaced by an unmodifiable view
+     */
+    @SuppressWarnings("unchecked")
+    private static Object freeze(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) map).entrySet()) {
+                entry.setValue(freeze(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(map);
+        }
+        if (value instanceof List<?> list) {
+            ((List<Object>) list).replaceAll(JsonDocument::freeze);
+            return Collections.unmodifiableList(list);
+        }
+        return value;
+    }
+
+    /**
+     * Translate a path to JsonPath syntax, see the class comment
+     *
+     * @param path the path
+     * @return the JsonPath expression
+     */
+    private String toJsonPath(String path) {
+        if (GPATH_ONLY.matcher(path.replaceAll("\\[[^]]*]", "")).find()) {
+            throw new IllegalArgumentException("Unsupported GPath expression '" + path
+                    + "': use JsonPath syntax, e.g. a filter such as [?(@.live == true)] or length()");
+        }
+        String jsonPath = path.replace("[]", "[*]");
+        return DOTTED_PATH.matcher(jsonPath).matches() ? spreadArrays(jsonPath) : jsonPath;
+    }
+
+    /**
+     * Insert "[*]" wherever a field of a dotted path is read from an array, following the parsed tree
+     *
+     * @param path a plain dotted path
+     * @return the path with arrays spread
+     */
+    private String spreadArrays(String path) {
+        String dotted = path.startsWith("$") ? path.substring(1) : path;
+        if (dotted.startsWith(".")) {
+            dotted = dotted.substring(1);
+        }
+        StringBuilder jsonPath = new StringBuilder("$");
+        Object value = context.json();
+        for (String segment : dotted.split("\\.")) {
+            int subscripts = segment.indexOf('[');
+            String name = subscripts < 0 ? segment : segment.substring(0, subscripts);
+            if (value instanceof List<?> list) {
+                jsonPath.append("[*]");
+                value = list.stream()
+                        .filter(element -> element instanceof Map<?, ?> map && map.containsKey(name))
+                        .findFirst().orElse(null);
+            }
+            jsonPath.append('.').append(segment);
+            value = value instanceof Map<?, ?> map ? map.get(name) : null;
+            if (subscripts >= 0) {
+                Matcher subscript = SUBSCRIPT.matcher(segment.substring(subscripts));
+                while (subscript.find() && value instanceof List<?> list) {
+                    int index = "*".equals(subscript.group(1)) ? 0 : Integer.parseInt(subscript.group(1));
+                    value = index < list.size() ? list.get(index) : null;
+                }
+            }
+        }
+        return jsonPath.toString();
+    }
+
+    /**
+     * Get the root of the parsed tree (an unmodifiable Map or List)
+     *
+     * @return the root value
+     */
+    public Object root() {
+        return context.json();
+    }
+}
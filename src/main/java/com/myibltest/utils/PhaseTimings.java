@@ -0,0 +1,194 @@
+package com.myibltest.utils;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Where the time of one request went, phase by phase, in nanoseconds:
+ * <ul>
+ *     <li>DNS: resolving the host name</li>
+ *     <li>CONNECT: the TCP connect</li>
+ *     <li>TLS: the TLS handshake</li>
+ *     <li>TTFB: from sending the request to receiving the response headers</li>
+ *     <li>TRANSFER: from the response headers to the end of the body</li>
+ *     <li>PARSE: parsing, binding and indexing the body in {@link ResponseUtils}</li>
+ * </ul>
+ * DNS, CONNECT and TLS are 0 when a pooled connection was reused. A phase the client could not observe
+ * is {@link #UNKNOWN}: the blocking client reports every phase only when the {@link HttpConnectionPool}
+ * is enabled, and the {@link AsyncHttpEngine} reports only TTFB (connection setup included) and TRANSFER.
+ * The timings of a blocking request are collected on the thread sending it: hooks in the connection pool
+ * find them through {@link #current()}.
+ */
+public final class PhaseTimings {
+
+    /**
+     * Value of a phase that was not observed
+     */
+    public static final long UNKNOWN = -1;
+
+    /**
+     * The phases of a request
+     */
+    public enum Phase {
+        DNS, CONNECT, TLS, TTFB, TRANSFER, PARSE
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<PhaseTimings> CURRENT = new ThreadLocal<>();
+
+    private final long[] nanos = new long[PHASES.length];
+    private final long startNanos;
+    private long requestSentNanos;
+    private long headersReceivedNanos;
+    private long totalNanos = UNKNOWN;
+
+    /**
+     * Constructor. The clock starts now and every phase is {@link #UNKNOWN}.
+     */
+    public PhaseTimings() {
+        this.startNanos = System.nanoTime();
+        Arrays.fill(nanos, UNKNOWN);
+    }
+
+    /**
+     * Start timing a request sent on this thread, so connection hooks can add to it
+     *
+     * @return the timings, also returned by {@link #current()} until {@link #finish()}
+     */
+    public static PhaseTimings bind() {
+        PhaseTimings timings = new PhaseTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * Get the timings of the request being sent on this thread
+     *
+     * @return the timings, or null if none is being timed
+     */
+    public static PhaseTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Add time to a phase; a phase added to more than once (e.g. a connect retry) accumulates
+     *
+     * @param phase the phase
+     * @param elapsedNanos the time in nanoseconds
+     */
+    public void add(Phase phase, long elapsedNanos) {
+        long current = nanos[phase.ordinal()];
+        nanos[phase.ordinal()] = current == UNKNOWN ? elapsedNanos : current + elapsedNanos;
+    }
+
+    /**
+     * Set a phase
+     *
+     * @param phase the phase
+     * @param elapsedNanos the time in nanoseconds, or {@link #UNKNOWN}
+     */
+    public void set(Phase phase, long elapsedNanos) {
+        nanos[phase.ordinal()] = elapsedNanos;
+    }
+
+    /**
+     * Record that the request is about to be written. Connection phases not reported by then took no time,
+     * as the connection was reused.
+     */
+    public void markRequestSent() {
+        requestSentNanos = System.nanoTime();
+        for (Phase phase : new Phase[] {Phase.DNS, Phase.CONNECT, Phase.TLS}) {
+            if (nanos[phase.ordinal()] == UNKNOWN) {
+                nanos[phase.ordinal()] = 0;
+            }
+        }
+    }
+
+    /**
+     * Record that the response headers have arrived, ending TTFB. Without {@link #markRequestSent()},
+     * TTFB runs from the start of the request.
+     */
+    public void markHeadersReceived() {
+        headersReceivedNanos = System.nanoTime();
+        set(Phase.TTFB, headersReceivedNanos - (requestSentNanos != 0 ? requestSentNanos : startNanos));
+    }
+
+    /**
+     * Stop the clock: the body has been read. Unbinds the timings from this thread.
+     *
+     * @return these timings
+     */
+    public PhaseTimings finish() {
+        long now = System.nanoTime();
+        totalNanos = now - startNanos;
+        if (headersReceivedNanos != 0) {
+            set(Phase.TRANSFER, now - headersReceivedNanos);
+        }
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        return this;
+    }
+
+    /**
+     * Get the time of a phase
+     *
+     * @param phase the phase
+     * @return the time in nanoseconds, or {@link #UNKNOWN}
+     */
+    public long get(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    /**
+     * Get the time from the start of the request to the end of the body, parsing excluded
+     *
+     * @return the time in nanoseconds, or {@link #UNKNOWN} if not finished
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Copy these timings with the parse phase set
+     *
+     * @param parseNanos the parse time in nanoseconds
+     * @return the copy
+     */
+    public PhaseTimings withParse(long parseNanos) {
+        PhaseTimings copy = new PhaseTimings();
+        System.arraycopy(nanos, 0, copy.nanos, 0, nanos.length);
+        copy.totalNanos = totalNanos;
+        copy.set(Phase.PARSE, parseNanos);
+        return copy;
+    }
+
+    /**
+     * Get the observed phases
+     *
+     * @return the time of each observed phase in nanoseconds, in phase order
+     */
+    public Map<Phase, Long> toMap() {
+        Map<Phase, Long> map = new EnumMap<>(Phase.class);
+        for (Phase phase : PHASES) {
+            if (nanos[phase.ordinal()] != UNKNOWN) {
+                map.put(phase, nanos[phase.ordinal()]);
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (Phase phase : PHASES) {
+            long value = nanos[phase.ordinal()];
+            text.append(phase.name().toLowerCase(Locale.ROOT)).append(' ')
+                    .append(value == UNKNOWN ? "?" : String.format("%.2f ms", value / 1e6)).append(", ");
+        }
+        return text.append("total ").append(totalNanos == UNKNOWN ? "?" : String.format("%.2f ms", totalNanos / 1e6))
+                .toString();
+    }
+}
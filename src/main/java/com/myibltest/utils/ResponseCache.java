@@ -0,0 +1,271 @@
+package com.myibltest.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myibltest.config.ConfigManager;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Response cache behind {@link RestAssuredUtils#get(String)}, keyed by request URL.
+ * The mode is read from {@link ConfigManager} ("http.cache.mode"):
+ * <ul>
+ *     <li>off - every request goes to the network (default)</li>
+ *     <li>live - responses are kept in memory for "http.cache.ttl.seconds"; expired entries are
+ *     revalidated with If-None-Match / If-Modified-Since when the server sent an ETag or Last-Modified</li>
+ *     <li>record - as live, and every response fetched is also written to "http.cache.dir"</li>
+ *     <li>replay - responses are only ever read from "http.cache.dir"; a missing recording is an error</li>
+ * </ul>
+ * Server errors (5xx) are never cached. The in-memory cache holds at most "http.cache.max.entries"
+ * responses, evicting the least recently used.
+ */
+public class ResponseCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResponseCache.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Cache modes
+     */
+    public enum Mode { OFF, LIVE, RECORD, REPLAY }
+
+    private final Mode mode;
+    private final long ttlMillis;
+    private final Path directory;
+    private final Map<String, CachedResponse> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+
+    // Private constructor to enforce singleton pattern
+    private ResponseCache() {
+        ConfigManager configManager = ConfigManager.getInstance();
+        this.mode = Mode.valueOf(configManager.getProperty("http.cache.mode").trim().toUpperCase(Locale.ROOT));
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(configManager.getIntProperty("http.cache.ttl.seconds", 300));
+        this.directory = Path.of(configManager.getProperty("http.cache.dir"));
+        int maxEntries = configManager.getIntProperty("http.cache.max.entries", 100);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        if (mode != Mode.OFF) {
+            LOGGER.info("Response cache in {} mode: ttl {} ms, max {} entries, directory {}",
+                    mode, ttlMillis, maxEntries, directory.toAbsolutePath());
+        }
+    }
+
+    // Lazily initialised by the class loader on first use
+    private static class Holder {
+        private static final ResponseCache INSTANCE = new ResponseCache();
+    }
+
+    /**
+     * Get the shared response cache
+     * @return ResponseCache instance
+     */
+    public static ResponseCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Check whether requests go through the cache
+     *
+     * @return true unless the mode is off
+     */
+    public boolean isEnabled() {
+        return mode != Mode.OFF;
+    }
+
+    /**
+     * Get the cache mode
+     *
+     * @return the mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Get a response from the cache, fetching it when missing or stale
+     *
+     * @param url the full request URL
+     * @param fetcher sends the request with the given extra (conditional) headers and returns a fully read response
+     * @return the cached or fetched response
+     */
+    public Response get(String url, Function<Map<String, String>, Response> fetcher) {
+        CachedResponse cached = lookup(url);
+
+        if (mode == Mode.REPLAY) {
+            if (cached == null) {
+                throw new IllegalStateException("No recorded response for " + url + " in " + directory.toAbsolutePath());
+            }
+            hits.increment();
+            return cached.toResponse();
+        }
+
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.storedAtMillis() < ttlMillis) {
+            hits.increment();
+            LOGGER.info("Serving cached response for {}", url);
+            return cached.toResponse();
+        }
+
+        Response response = fetcher.apply(cached != null ? cached.validators() : Map.of());
+        if (cached != null && response.getStatusCode() == 304) {
+            revalidations.increment();
+            LOGGER.info("Cached response for {} revalidated", url);
+            store(url, cached.withStoredAt(now));
+            return cached.toResponse();
+        }
+
+        misses.increment();
+        if (response.getStatusCode() < 500) {
+            store(url, CachedResponse.of(response, now));
+        }
+        return response;
+    }
+
+    /**
+     * Get the number of requests answered from the cache without contacting the server
+     *
+     * @return cache hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of requests that fetched a full response
+     *
+     * @return cache misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the number of stale entries the server confirmed unchanged (304 Not Modified)
+     *
+     * @return revalidations
+     */
+    public long getRevalidations() {
+        return revalidations.sum();
+    }
+
+    private CachedResponse lookup(String url) {
+        synchronized (entries) {
+            CachedResponse cached = entries.get(url);
+            if (cached != null || mode != Mode.REPLAY) {
+                return cached;
+            }
+        }
+
+        Path file = fileFor(url);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            CachedResponse cached = MAPPER.readValue(file.toFile(), CachedResponse.class);
+            synchronized (entries) {
+                entries.put(url, cached);
+            }
+            return cached;
+        } catch (IOException e) {
+            LOGGER.error("Failed to read recorded response {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(String url, CachedResponse cached) {
+        synchronized (entries) {
+            entries.put(url, cached);
+        }
+        if (mode == Mode.RECORD) {
+            Path file = fileFor(url);
+            try {
+                Files.createDirectories(directory);
+                MAPPER.writeValue(file.toFile(), cached);
+                LOGGER.info("Recorded response for {} to {}", url, file);
+            } catch (IOException e) {
+                LOGGER.error("Failed to record response for {}: {}", url, e.getMessage());
+            }
+        }
+    }
+
+    private Path fileFor(String url) {
+        String name = url.replaceFirst("^[a-zA-Z]+://", "").replaceAll("[^A-Za-z0-9._-]+", "_");
+        return directory.resolve(name + ".json");
+    }
+
+    /**
+     * A stored response
+     *
+     * @param statusCode the status code
+     * @param headers the response headers, in order
+     * @param body the response body
+     * @param storedAtMillis when the response was fetched or last revalidated
+     */
+    record CachedResponse(int statusCode, List<Map<String, String>> headers, byte[] body, long storedAtMillis) {
+
+        static CachedResponse of(Response response, long storedAtMillis) {
+            List<Map<String, String>> headers = new ArrayList<>();
+            for (Header header : response.getHeaders()) {
+                headers.add(Map.of("name", header.getName(), "value", header.getValue()));
+            }
+            return new CachedResponse(response.getStatusCode(), headers, response.asByteArray(), storedAtMillis);
+        }
+
+        CachedResponse withStoredAt(long millis) {
+            return new CachedResponse(statusCode, headers, body, millis);
+        }
+
+        Map<String, String> validators() {
+            Map<String, String> validators = new LinkedHashMap<>();
+            for (Map<String, String> header : headers) {
+                if ("ETag".equalsIgnoreCase(header.get("name"))) {
+                    validators.put("If-None-Match", header.get("value"));
+                } else if ("Last-Modified".equalsIgnoreCase(header.get("name"))) {
+                    validators.put("If-Modified-Since", header.get("value"));
+                }
+            }
+            return validators;
+        }
+
+        Response toResponse() {
+            List<Header> headerList = new ArrayList<>(headers.size());
+            String contentType = null;
+            for (Map<String, String> header : headers) {
+                headerList.add(new Header(header.get("name"), header.get("value")));
+                if ("Content-Type".equalsIgnoreCase(header.get("name"))) {
+                    contentType = header.get("value");
+                }
+            }
+            // The built response has no time of its own: callers time the lookup, see RestAssuredUtils#get
+            ResponseBuilder builder = new ResponseBuilder()
+                    .setStatusCode(statusCode)
+                    .setStatusLine("HTTP/1.1 " + statusCode)
+                    .setHeaders(new Headers(headerList))
+                    .setBody(body);
+            if (contentType != null) {
+                builder.setContentType(contentType);
+            }
+            return builder.build();
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package com.myibltest.utils;
 
+import com.jayway.jsonpath.spi.mapper.MappingException;
+import com.myibltest.metrics.MetricsRegistry;
+import com.myibltest.model.Schedule;
+import com.myibltest.model.ScheduleReader;
+import com.myibltest.model.ScheduleResponse;
+import com.myibltest.utils.paths.CompiledPath;
+import com.myibltest.utils.paths.ElementStreamVerifier;
+import com.myibltest.utils.paths.PathProjection;
+import com.myibltest.utils.paths.TemporalIndex;
 import io.restassured.response.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -13,6 +23,17 @@ import java.util.Map;
 public class ResponseUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(ResponseUtils.class);
     private final Response response;
+    private final long responseTimeMillis;
+    private final PhaseTimings timings;
+    private JsonDocument document;
+    private RuntimeException parseFailure;
+    private TemporalIndex temporalIndex;
+    private ScheduleResponse boundPayload;
+    private PathProjection projection;
+    private String endpoint;
+    private int parseCount;
+    private long parseTimeNanos;
+    private long decodeTimeNanos;
 
     /**
      * Constructor
@@ -20,7 +41,205 @@ public class ResponseUtils {
      * @param response the RestAssured response
      */
     public ResponseUtils(Response response) {
+        this(response, -1);
+    }
+
+    /**
+     * Constructor for a response timed by the caller, e.g. one received by the {@link AsyncHttpEngine}
+     *
+     * @param response the RestAssured response
+     * @param responseTimeMillis the response time in milliseconds, or -1 to use the response's own
+     */
+    public ResponseUtils(Response response, long responseTimeMillis) {
+        this(response, responseTimeMillis, null);
+    }
+
+    /**
+     * Constructor for a response whose request phases were timed
+     *
+     * @param response the RestAssured response
+     * @param responseTimeMillis the response time in milliseconds, or -1 to use the response's own
+     * @param timings the phase timings of the request, or null if not timed
+     */
+    public ResponseUtils(Response response, long responseTimeMillis, PhaseTimings timings) {
         this.response = response;
+        this.responseTimeMillis = responseTimeMillis;
+        this.timings = timings;
+    }
+
+    /**
+     * Parse only the given paths of the body from now on. When one of the path readers of this class is
+     * asked for a path outside the projection, the projection is dropped and the whole body parsed again,
+     * so reads always see the full value and a body is parsed at most twice.
+     *
+     * @param projection the paths the caller expects to read, or null to parse the whole body
+     */
+    public synchronized void setProjection(PathProjection projection) {
+        this.projection = projection;
+        this.document = null;
+        this.parseFailure = null;
+    }
+
+    /**
+     * Set the endpoint the response came from, used to tag the parse time recorded in the {@link MetricsRegistry}
+     *
+     * @param endpoint the endpoint
+     */
+    public synchronized void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Get the endpoint the response came from
+     *
+     * @return the endpoint, or null if not set
+     */
+    public synchronized String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Get the projection the body is parsed with
+     *
+     * @return the projection, or null if the whole body is parsed
+     */
+    public synchronized PathProjection getProjection() {
+        return projection;
+    }
+
+    /**
+     * Get the parsed response body, parsing it on first use.
+     * A body that fails to parse is not parsed again; the original failure is rethrown instead.
+     * With a projection set, only the projected paths are present in the document.
+     *
+     * @return the parsed document
+     */
+    public synchronized JsonDocument getDocument() {
+        if (document == null && parseFailure == null) {
+            long start = System.nanoTime();
+            try {
+                document = projection == null
+                        ? JsonDocument.parse(response.asByteArray())
+                        : JsonDocument.parse(response.asByteArray(), projection);
+            } catch (RuntimeException e) {
+                parseFailure = e;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                parseTimeNanos += elapsed;
+                parseCount++;
+                MetricsRegistry.getInstance().recordParse(endpoint, elapsed);
+            }
+            LOGGER.debug("Parsed response body in {} us", parseTimeNanos / 1000);
+        }
+        if (parseFailure != null) {
+            throw parseFailure;
+        }
+        return document;
+    }
+
+    /**
+     * Get the parsed body for reading a path, parsing the whole body again if the path is not covered.
+     * Widening to the whole body at once, rather than by each missed path, keeps a scenario whose
+     * declarations are incomplete to one extra parse.
+     *
+     * @param path the path about to be read
+     * @return the parsed document
+     */
+    private synchronized JsonDocument getDocument(String path) {
+        if (projection != null && !projection.covers(path)) {
+            LOGGER.warn("Path {} is outside the projection {}, parsing the whole body; declare it with @ReadsJsonPaths",
+                    path, projection);
+            setProjection(null);
+        }
+        return getDocument();
+    }
+
+    /**
+     * Get the "schedule" object bound to typed records, binding the body on first use.
+     * The element rules do not use it: they stream the body (see {@link #verifyElements}) so large
+     * schedules are never bound whole. The records are for code reading a few typed fields.
+     *
+     * @return the schedule, or null if the payload has no "schedule"
+     * @throws java.io.UncheckedIOException if the body cannot be bound
+     */
+    public synchronized Schedule getSchedule() {
+        if (boundPayload == null) {
+            long start = System.nanoTime();
+            ScheduleResponse bound = ScheduleReader.read(response.asByteArray());
+            // A body of just "null" binds to null; cache it as a payload without a schedule
+            boundPayload = bound != null ? bound : new ScheduleResponse(null);
+            addDecodeTime(System.nanoTime() - start);
+            LOGGER.debug("Bound schedule in {} us", (System.nanoTime() - start) / 1000);
+        }
+        return boundPayload.schedule();
+    }
+
+    /**
+     * Stream the body's "schedule.elements" through element rules, counting the time as parse time
+     *
+     * @param verifier the verifier holding the rules
+     * @return true if every rule passed, false otherwise
+     */
+    public boolean verifyElements(ElementStreamVerifier verifier) {
+        long start = System.nanoTime();
+        try {
+            return verifier.endpoint(getEndpoint()).verify(response);
+        } finally {
+            addDecodeTime(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Count time spent decoding the body other than by {@link #getDocument()} as parse time
+     *
+     * @param elapsedNanos the time in nanoseconds
+     */
+    private synchronized void addDecodeTime(long elapsedNanos) {
+        decodeTimeNanos += elapsedNanos;
+        MetricsRegistry.getInstance().recordParse(endpoint, elapsedNanos);
+    }
+
+    /**
+     * Get the timing fields of "schedule.elements" as primitive columns, indexing the body on first use
+     *
+     * @return the temporal index
+     */
+    public synchronized TemporalIndex getTemporalIndex() {
+        if (temporalIndex == null) {
+            long start = System.nanoTime();
+            temporalIndex = TemporalIndex.of(response.asByteArray());
+            addDecodeTime(System.nanoTime() - start);
+            LOGGER.debug("Indexed {} element timestamps in {} us", temporalIndex.size(), (System.nanoTime() - start) / 1000);
+        }
+        return temporalIndex;
+    }
+
+    /**
+     * Get the number of times the response body has been parsed
+     *
+     * @return the parse count: 0 or 1, or 2 if a path outside the projection was read
+     */
+    public synchronized int getParseCount() {
+        return parseCount;
+    }
+
+    /**
+     * Get the time spent parsing the response body
+     *
+     * @return the parse time in nanoseconds
+     */
+    public synchronized long getParseTimeNanos() {
+        return parseTimeNanos;
+    }
+
+    /**
+     * Get the phase timings of the request, with PARSE covering every parse, binding and indexing
+     * of the body so far
+     *
+     * @return the timings; every network phase is {@link PhaseTimings#UNKNOWN} if the request was not timed
+     */
+    public synchronized PhaseTimings getTimings() {
+        return (timings != null ? timings : new PhaseTimings()).withParse(parseTimeNanos + decodeTimeNanos);
     }
 
     /**
@@ -38,7 +257,7 @@ public class ResponseUtils {
      * @return the response time
      */
     public long getResponseTime() {
-        return response.getTime();
+        return responseTimeMillis >= 0 ? responseTimeMillis : response.getTime();
     }
 
     /**
@@ -54,7 +273,7 @@ public class ResponseUtils {
         if (result) {
             LOGGER.info("Response time {} ms is less than threshold {} ms", actualTime, thresholdMillis);
         } else {
-            LOGGER.warn("Response time {} ms exceeds threshold {} ms", actualTime, thresholdMillis);
+            LOGGER.warn("Response time {} ms exceeds threshold {} ms ({})", actualTime, thresholdMillis, getTimings());
         }
 
         return result;
@@ -66,7 +285,49 @@ public class ResponseUtils {
      * @return the value at the specified path
      */
     public Object getJsonValue(String path) {
-        return response.jsonPath().get(path);
+        return getDocument(path).read(path);
+    }
+
+    /**
+     * Get a value from the response using a precompiled path
+     * @param path the compiled path
+     * @return the value at the specified path
+     */
+    public Object getJsonValue(CompiledPath path) {
+        return path.read(getDocument(path.toString()).root());
+    }
+
+    /**
+     * Get a value from the response using a precompiled path with one index slot
+     * @param path the compiled path
+     * @param index0 the index bound to the first slot
+     * @return the value at the specified path
+     */
+    public Object getJsonValue(CompiledPath path, int index0) {
+        return path.read(getDocument(path.toString()).root(), index0);
+    }
+
+    /**
+     * Get a value from the response using a precompiled path with two index slots
+     * @param path the compiled path
+     * @param index0 the index bound to the first slot
+     * @param index1 the index bound to the second slot
+     * @return the value at the specified path
+     */
+    public Object getJsonValue(CompiledPath path, int index0, int index1) {
+        return path.read(getDocument(path.toString()).root(), index0, index1);
+    }
+
+    /**
+     * Get a value from the response using a precompiled path with three index slots
+     * @param path the compiled path
+     * @param index0 the index bound to the first slot
+     * @param index1 the index bound to the second slot
+     * @param index2 the index bound to the third slot
+     * @return the value at the specified path
+     */
+    public Object getJsonValue(CompiledPath path, int index0, int index1, int index2) {
+        return path.read(getDocument(path.toString()).root(), index0, index1, index2);
     }
 
     /**
@@ -75,16 +336,17 @@ public class ResponseUtils {
      * @return the string value at the specified path
      */
     public String getJsonString(String path) {
-        return response.jsonPath().getString(path);
+        return getDocument(path).read(path, String.class);
     }
 
     /**
      * Get an integer value from the response using JsonPath
      * @param path the JsonPath expression
      * @return the integer value at the specified path
+     * @throws IllegalStateException if the path is missing or its value is not an integer
      */
     public int getJsonInt(String path) {
-        return response.jsonPath().getInt(path);
+        return readRequired(path, Integer.class, "an integer");
     }
 
     /**
@@ -92,9 +354,39 @@ public class ResponseUtils {
      *
      * @param path the JsonPath expression
      * @return the boolean value at the specified path
+     * @throws IllegalStateException if the path is missing or its value is not a boolean
      */
     public boolean getJsonBoolean(String path) {
-        return response.jsonPath().getBoolean(path);
+        return readRequired(path, Boolean.class, "a boolean");
+    }
+
+    /**
+     * Read a value that must be present, for getters returning primitives
+     *
+     * @param path the JsonPath expression
+     * @param type the type to convert to
+     * @param description the type as named in the error message
+     * @return the value
+     * @throws IllegalStateException if the path is missing or its value cannot be converted
+     */
+    private <T> T readRequired(String path, Class<T> type, String description) {
+        JsonDocument document = getDocument(path);
+        Object raw = document.read(path);
+        if (raw == null) {
+            throw new IllegalStateException("No value at '" + path + "' in the response");
+        }
+        if (type.isInstance(raw)) {
+            return type.cast(raw);
+        }
+        try {
+            T value = document.read(path, type);
+            if (value != null) {
+                return value;
+            }
+        } catch (MappingException e) {
+            // Reported below with the value that could not be converted
+        }
+        throw new IllegalStateException("Value at '" + path + "' is not " + description + ": " + raw);
     }
 
     /**
@@ -104,7 +396,8 @@ public class ResponseUtils {
      * @return the list at the specified path
      */
     public List<Object> getJsonList(String path) {
-        return response.jsonPath().getList(path);
+        List<Object> list = getDocument(path).read(path);
+        return list != null ? Collections.unmodifiableList(list) : null;
     }
 
     /**
@@ -114,7 +407,8 @@ public class ResponseUtils {
      * @return the map at the specified path
      */
     public Map<String, Object> getJsonMap(String path) {
-        return response.jsonPath().getMap(path);
+        Map<String, Object> map = getDocument(path).read(path);
+        return map != null ? Collections.unmodifiableMap(map) : null;
     }
 
     /**
@@ -125,7 +419,7 @@ public class ResponseUtils {
      */
     public boolean hasJsonPath(String path) {
         try {
-            return response.jsonPath().get(path) != null;
+            return getDocument(path).read(path) != null;
         } catch (Exception e) {
             // If there's an exception while accessing the path, it doesn't exist
             return false;
@@ -137,7 +431,8 @@ public class ResponseUtils {
      * @return list of items as maps
      */
     public List<Map<String, Object>> getJsonArray() {
-        return response.jsonPath().getList("$");
+        List<Map<String, Object>> items = getDocument("$").read("$");
+        return items != null ? Collections.unmodifiableList(items) : null;
     }
 
     /**
@@ -148,21 +443,31 @@ public class ResponseUtils {
      * @return count of matching items
      */
     public int countItemsWithValue(String path, boolean value) {
-        List<Map<String, Object>> items = getJsonArray();
-        int count = 0;
+        return countItemsWithValue("$", path, value);
+    }
 
-        for (int i = 0; i < items.size(); i++) {
-            try {
-                boolean itemValue = response.jsonPath().getBoolean("[" + i + "]" + path);
-                if (itemValue == value) {
-                    count++;
-                }
-            } catch (Exception e) {
-                // Skip if the path doesn't exist for this item
-            }
-        }
+    /**
+     * Count the items of an array whose field equals a value, in a single pass over the array
+     *
+     * @param arrayPath the JsonPath to the array
+     * @param fieldPath the dot-separated field path relative to each item
+     * @param value the value to match
+     * @return count of matching items
+     */
+    public int countItemsWithValue(String arrayPath, String fieldPath, Object value) {
+        return countItems(arrayPath, new ItemCounter().count(fieldPath, fieldPath, value)).get(fieldPath);
+    }
 
-        return count;
+    /**
+     * Evaluate several counts over the items of an array in a single pass
+     *
+     * @param arrayPath the JsonPath to the array
+     * @param counter the counts to evaluate
+     * @return the count for each name registered on the counter
+     */
+    public Map<String, Integer> countItems(String arrayPath, ItemCounter counter) {
+        List<Object> items = getDocument(arrayPath).read(arrayPath);
+        return counter.countIn(items);
     }
 
     /**
@@ -173,6 +478,16 @@ public class ResponseUtils {
         return response.getBody().asString();
     }
 
+    /**
+     * Get the start of the response body as a string, decoding only that prefix; use this rather than
+     * {@link #getBodyAsString()} when only a preview is needed, e.g. for logging
+     * @param maxBytes the maximum number of bytes to decode
+     * @return the decoded prefix, followed by " ... (N bytes total)" when the body was cut
+     */
+    public String getBodyPrefix(int maxBytes) {
+        return BodyPreview.of(response, maxBytes);
+    }
+
     /**
      * Get the response headers
      * @return the response headers
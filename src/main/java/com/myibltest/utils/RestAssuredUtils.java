@@ -11,19 +11,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.myibltest.config.ConfigManager;
+import com.myibltest.metrics.MetricsRegistry;
 
 import java.util.Map;
 
 /**
- * Utility class for making REST API calls using RestAssured
+ * Utility class for making REST API calls using RestAssured.
+ * Instances are not thread-safe; parallel scenarios each create their own instance.
+ * GET requests go through the shared {@link ResponseCache} when it is enabled.
  */
 public class RestAssuredUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(RestAssuredUtils.class);
     private static final ConfigManager configManager = ConfigManager.getInstance();
 
-    private String baseUrl;
+    private final String baseUrl;
     private RequestSpecification requestSpec;
     private Response lastResponse;
+    private PhaseTimings lastTimings;
 
     /**
      * Constructor with default base URL
@@ -45,19 +49,34 @@ public class RestAssuredUtils {
      * Initialize the request specification with default configuration
      */
     private void initializeRequestSpec() {
-        int timeout = configManager.getIntProperty("api.timeout", 10000);
-
-        RestAssuredConfig config = RestAssured.config()
-                .httpClient(HttpClientConfig.httpClientConfig()
-                        .setParam("http.connection.timeout", timeout)
-                        .setParam("http.socket.timeout", timeout));
-
         requestSpec = RestAssured.given()
-                .config(config)
+                .config(SharedConfig.CONFIG)
                 .contentType(ContentType.JSON)
                 .log().ifValidationFails();
     }
 
+    /**
+     * RestAssured configuration built once and shared by every instance.
+     * When pooling is enabled all requests go through the {@link HttpConnectionPool} client.
+     */
+    private static class SharedConfig {
+        private static final RestAssuredConfig CONFIG = createConfig();
+
+        private static RestAssuredConfig createConfig() {
+            int timeout = configManager.getIntProperty("api.timeout", 10000);
+
+            HttpClientConfig httpClientConfig = HttpClientConfig.httpClientConfig()
+                    .setParam("http.connection.timeout", timeout)
+                    .setParam("http.socket.timeout", timeout);
+            if (configManager.getBooleanProperty("http.pool.enabled", true)) {
+                httpClientConfig = httpClientConfig
+                        .httpClientFactory(HttpConnectionPool.getInstance()::getHttpClient)
+                        .reuseHttpClientInstance();
+            }
+            return RestAssured.config().httpClient(httpClientConfig);
+        }
+    }
+
 
     /**
      * Get the base URL for API requests
@@ -69,19 +88,59 @@ public class RestAssuredUtils {
     }
 
     /**
-     * Execute a GET request
+     * Execute a GET request, timing each phase (see {@link #getLastTimings()}) and recording it in the
+     * {@link MetricsRegistry}
      *
      * @param endpoint the API endpoint (will be appended to the base URL)
      * @return the response
      */
     public Response get(String endpoint) {
         String url = baseUrl + endpoint;
-        LOGGER.info("Executing GET request to {}", url);
-        lastResponse = requestSpec.when().get(url);
+        ResponseCache cache = ResponseCache.getInstance();
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        PhaseTimings timings = PhaseTimings.bind();
+        try {
+            lastResponse = cache.isEnabled()
+                    ? cache.get(url, conditionalHeaders -> fetch(url, conditionalHeaders))
+                    : fetch(url, Map.of());
+        } catch (RuntimeException e) {
+            metrics.recordRequestError(endpoint, MetricsRegistry.currentScenario());
+            throw e;
+        } finally {
+            lastTimings = timings.finish();
+        }
+        metrics.recordRequest(endpoint, MetricsRegistry.currentScenario(), lastResponse.getStatusCode(),
+                lastResponse.asByteArray().length, lastTimings.getTotalNanos());
         LOGGER.info("Response status code: {}", lastResponse.getStatusCode());
         return lastResponse;
     }
 
+    /**
+     * Send a GET request over the network
+     *
+     * @param url the full request URL
+     * @param extraHeaders headers added to this request only
+     * @return the response, with its body already read
+     */
+    private Response fetch(String url, Map<String, String> extraHeaders) {
+        LOGGER.info("Executing GET request to {}", url);
+        Response response = extraHeaders.isEmpty()
+                ? requestSpec.when().get(url)
+                : RestAssured.given().spec(requestSpec).headers(extraHeaders).when().get(url);
+        // Buffer the body now so a pooled connection goes back to the pool straight away
+        response.asByteArray();
+        return response;
+    }
+
+    /**
+     * Get the phase timings of the last request. A response served from the cache has no network phases.
+     *
+     * @return the timings, or null if no request was sent
+     */
+    public PhaseTimings getLastTimings() {
+        return lastTimings;
+    }
+
     /**
      * Get the last response
      *
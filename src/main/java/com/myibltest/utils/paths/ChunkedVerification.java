@@ -0,0 +1,131 @@
+package com.myibltest.utils.paths;
+
+import com.myibltest.config.ConfigManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+
+/**
+ * Feeds elements to a set of rules, splitting large arrays into chunks verified in parallel on the
+ * common {@link ForkJoinPool}. Arrays smaller than "verify.parallel.threshold" elements, or rule sets
+ * containing a rule that cannot be chunked, are verified sequentially on the calling thread.
+ * Chunks are merged back in element order, so failure reports and cross-chunk aggregates (counts,
+ * uniqueness, ordering) are the same as for a sequential run.
+ */
+final class ChunkedVerification {
+    private static final ConfigManager configManager = ConfigManager.getInstance();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ChunkedVerification() {
+        // Private constructor to hide the implicit public one
+    }
+
+    /**
+     * Run the rules over every element and finish them
+     *
+     * @param rules the rules to run; they receive the merged result of every chunk
+     * @param size the number of elements
+     * @param elementAt returns the element at an index, or null for a null element; must be thread-safe
+     */
+    static void run(List<ElementRule> rules, int size, IntFunction<Map<String, Object>> elementAt) {
+        run(rules, 0, size, elementAt);
+    }
+
+    /**
+     * Run the rules over the elements from an index on and finish them
+     *
+     * @param rules the rules to run, which have already been fed the elements before {@code from}
+     * @param from the index of the first element not yet fed to the rules
+     * @param size the number of elements
+     * @param elementAt returns the element at an index, or null for a null element; must be thread-safe
+     */
+    static void run(List<ElementRule> rules, int from, int size, IntFunction<Map<String, Object>> elementAt) {
+        int threshold = configManager.getIntProperty("verify.parallel.threshold", 10000);
+        int chunkSize = Math.max(1, configManager.getIntProperty("verify.parallel.chunk.size", 2048));
+
+        if (threshold > 0 && size >= threshold && isChunkable(rules)) {
+            List<ElementRule> merged = ForkJoinPool.commonPool()
+                    .invoke(new ChunkTask(rules, from, from, size, chunkSize, elementAt));
+            merged.forEach(ElementRule::sortFailures);
+        } else {
+            verifyRange(ElementRuleEngine.compile(rules), from, size, elementAt);
+        }
+        rules.forEach(ElementRule::finish);
+    }
+
+    /**
+     * Check whether every rule can verify a chunk of elements on its own
+     *
+     * @param rules the rules
+     * @return true if the rules can be run in parallel chunks
+     */
+    static boolean isChunkable(List<ElementRule> rules) {
+        for (ElementRule rule : rules) {
+            if (rule.newChunk() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void verifyRange(ElementRuleEngine engine, int from, int to, IntFunction<Map<String, Object>> elementAt) {
+        for (int index = from; index < to; index++) {
+            engine.accept(index, elementAt.apply(index));
+        }
+    }
+
+    /**
+     * Verifies the elements in [from, to), splitting in half until a range fits in one chunk.
+     * The leftmost chunk, starting at {@code start}, uses the caller's rules, so it continues from the
+     * elements they have already seen and the merged result ends up in them.
+     */
+    private static final class ChunkTask extends RecursiveTask<List<ElementRule>> {
+        private final List<ElementRule> rootRules;
+        private final int start;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final IntFunction<Map<String, Object>> elementAt;
+
+        ChunkTask(List<ElementRule> rootRules, int start, int from, int to, int chunkSize,
+                  IntFunction<Map<String, Object>> elementAt) {
+            this.rootRules = rootRules;
+            this.start = start;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.elementAt = elementAt;
+        }
+
+        @Override
+        protected List<ElementRule> compute() {
+            if (to - from <= chunkSize) {
+                List<ElementRule> rules = rootRules;
+                if (from > start) {
+                    rules = new ArrayList<>(rootRules.size());
+                    for (ElementRule rule : rootRules) {
+                        rules.add(rule.newChunk());
+                    }
+                }
+                verifyRange(ElementRuleEngine.compile(rules), from, to, elementAt);
+                return rules;
+            }
+
+            int middle = (from + to) >>> 1;
+            ChunkTask right = new ChunkTask(rootRules, start, middle, to, chunkSize, elementAt);
+            right.fork();
+            List<ElementRule> left = new ChunkTask(rootRules, start, from, middle, chunkSize, elementAt).compute();
+            List<ElementRule> rightRules = right.join();
+            for (int i = 0; i < left.size(); i++) {
+                left.get(i).merge(rightRules.get(i));
+            }
+            return left;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.myibltest.utils.paths;
+
+/**
+ * Precompiled counterparts of the {@link JsonPaths} constants.
+ * Index slots ("[]" or "[%d]") are bound when reading, e.g. {@code VERSION_EVENT_NAME.read(root, e, v, ev)}
+ */
+public class CompiledJsonPaths {
+
+    // Root paths
+    public static final CompiledPath SCHEDULE = CompiledPath.compile(JsonPaths.SCHEDULE);
+    public static final CompiledPath SCHEDULE_CHANNEL = CompiledPath.compile(JsonPaths.SCHEDULE_CHANNEL);
+    public static final CompiledPath SCHEDULE_ELEMENTS = CompiledPath.compile(JsonPaths.SCHEDULE_ELEMENTS);
+
+    // Channel paths
+    public static final CompiledPath CHANNEL_ID = CompiledPath.compile(JsonPaths.CHANNEL_ID);
+    public static final CompiledPath CHANNEL_TYPE = CompiledPath.compile(JsonPaths.CHANNEL_TYPE);
+    public static final CompiledPath CHANNEL_TITLE = CompiledPath.compile(JsonPaths.CHANNEL_TITLE);
+    public static final CompiledPath CHANNEL_HAS_SCHEDULE = CompiledPath.compile(JsonPaths.CHANNEL_HAS_SCHEDULE);
+    public static final CompiledPath CHANNEL_MASTER_BRAND_ID = CompiledPath.compile(JsonPaths.CHANNEL_MASTER_BRAND_ID);
+    public static final CompiledPath CHANNEL_MASTER_BRAND_TITLE = CompiledPath.compile(JsonPaths.CHANNEL_MASTER_BRAND_TITLE);
+
+    // Element paths
+    public static final CompiledPath ELEMENT_ID = CompiledPath.compile(JsonPaths.ELEMENT_ID);
+    public static final CompiledPath ELEMENT_SCHEDULED_START = CompiledPath.compile(JsonPaths.ELEMENT_SCHEDULED_START);
+    public static final CompiledPath ELEMENT_SCHEDULED_END = CompiledPath.compile(JsonPaths.ELEMENT_SCHEDULED_END);
+    public static final CompiledPath ELEMENT_DURATION = CompiledPath.compile(JsonPaths.ELEMENT_DURATION);
+    public static final CompiledPath ELEMENT_TRANSMISSION_START = CompiledPath.compile(JsonPaths.ELEMENT_TRANSMISSION_START);
+    public static final CompiledPath ELEMENT_TRANSMISSION_END = CompiledPath.compile(JsonPaths.ELEMENT_TRANSMISSION_END);
+    public static final CompiledPath ELEMENT_BLANKED = CompiledPath.compile(JsonPaths.ELEMENT_BLANKED);
+    public static final CompiledPath ELEMENT_REPEAT = CompiledPath.compile(JsonPaths.ELEMENT_REPEAT);
+    public static final CompiledPath ELEMENT_EPISODE_ID = CompiledPath.compile(JsonPaths.ELEMENT_EPISODE_ID);
+    public static final CompiledPath ELEMENT_VERSION_ID = CompiledPath.compile(JsonPaths.ELEMENT_VERSION_ID);
+    public static final CompiledPath ELEMENT_SERVICE_ID = CompiledPath.compile(JsonPaths.ELEMENT_SERVICE_ID);
+    public static final CompiledPath ELEMENT_CHANNEL_TITLE = CompiledPath.compile(JsonPaths.ELEMENT_CHANNEL_TITLE);
+    public static final CompiledPath ELEMENT_TYPE = CompiledPath.compile(JsonPaths.ELEMENT_TYPE);
+    public static final CompiledPath ELEMENT_EVENTS = CompiledPath.compile(JsonPaths.ELEMENT_EVENTS);
+
+    // Episode paths
+    public static final CompiledPath EPISODE = CompiledPath.compile(JsonPaths.EPISODE);
+    public static final CompiledPath EPISODE_ID = CompiledPath.compile(JsonPaths.EPISODE_ID);
+    public static final CompiledPath EPISODE_LIVE = CompiledPath.compile(JsonPaths.EPISODE_LIVE);
+    public static final CompiledPath EPISODE_TYPE = CompiledPath.compile(JsonPaths.EPISODE_TYPE);
+    public static final CompiledPath EPISODE_TITLE = CompiledPath.compile(JsonPaths.EPISODE_TITLE);
+    public static final CompiledPath EPISODE_IMAGES = CompiledPath.compile(JsonPaths.EPISODE_IMAGES);
+    public static final CompiledPath EPISODE_LABELS = CompiledPath.compile(JsonPaths.EPISODE_LABELS);
+    public static final CompiledPath EPISODE_CATEGORY = CompiledPath.compile(JsonPaths.EPISODE_CATEGORY);
+    public static final CompiledPath EPISODE_SIGNED = CompiledPath.compile(JsonPaths.EPISODE_SIGNED);
+    public static final CompiledPath EPISODE_STATUS = CompiledPath.compile(JsonPaths.EPISODE_STATUS);
+    public static final CompiledPath EPISODE_TLEO_ID = CompiledPath.compile(JsonPaths.EPISODE_TLEO_ID);
+    public static final CompiledPath EPISODE_GUIDANCE = CompiledPath.compile(JsonPaths.EPISODE_GUIDANCE);
+    public static final CompiledPath EPISODE_SUBTITLE = CompiledPath.compile(JsonPaths.EPISODE_SUBTITLE);
+    public static final CompiledPath EPISODE_SYNOPSES = CompiledPath.compile(JsonPaths.EPISODE_SYNOPSES);
+    public static final CompiledPath EPISODE_SYNOPSIS_SMALL = CompiledPath.compile(JsonPaths.EPISODE_SYNOPSIS_SMALL);
+    public static final CompiledPath EPISODE_VERSIONS = CompiledPath.compile(JsonPaths.EPISODE_VERSIONS);
+    public static final CompiledPath EPISODE_CHILDRENS = CompiledPath.compile(JsonPaths.EPISODE_CHILDRENS);
+    public static final CompiledPath EPISODE_PARENT_ID = CompiledPath.compile(JsonPaths.EPISODE_PARENT_ID);
+    public static final CompiledPath EPISODE_TLEO_TYPE = CompiledPath.compile(JsonPaths.EPISODE_TLEO_TYPE);
+    public static final CompiledPath EPISODE_CATEGORIES = CompiledPath.compile(JsonPaths.EPISODE_CATEGORIES);
+    public static final CompiledPath EPISODE_HAS_CREDITS = CompiledPath.compile(JsonPaths.EPISODE_HAS_CREDITS);
+    public static final CompiledPath EPISODE_REQUIRES_AB = CompiledPath.compile(JsonPaths.EPISODE_REQUIRES_AB);
+    public static final CompiledPath EPISODE_MASTER_BRAND = CompiledPath.compile(JsonPaths.EPISODE_MASTER_BRAND);
+    public static final CompiledPath EPISODE_RELEASE_DATE = CompiledPath.compile(JsonPaths.EPISODE_RELEASE_DATE);
+    public static final CompiledPath EPISODE_RELEASE_DATE_TIME = CompiledPath.compile(JsonPaths.EPISODE_RELEASE_DATE_TIME);
+
+    // Version paths
+    public static final CompiledPath VERSION = CompiledPath.compile(JsonPaths.VERSION);
+    public static final CompiledPath VERSION_HD = CompiledPath.compile(JsonPaths.VERSION_HD);
+    public static final CompiledPath VERSION_ID = CompiledPath.compile(JsonPaths.VERSION_ID);
+    public static final CompiledPath VERSION_UHD = CompiledPath.compile(JsonPaths.VERSION_UHD);
+    public static final CompiledPath VERSION_KIND = CompiledPath.compile(JsonPaths.VERSION_KIND);
+    public static final CompiledPath VERSION_TYPE = CompiledPath.compile(JsonPaths.VERSION_TYPE);
+    public static final CompiledPath VERSION_EVENTS = CompiledPath.compile(JsonPaths.VERSION_EVENTS);
+    public static final CompiledPath VERSION_DOWNLOAD = CompiledPath.compile(JsonPaths.VERSION_DOWNLOAD);
+    public static final CompiledPath VERSION_DURATION = CompiledPath.compile(JsonPaths.VERSION_DURATION);
+    public static final CompiledPath VERSION_DURATION_TEXT = CompiledPath.compile(JsonPaths.VERSION_DURATION_TEXT);
+    public static final CompiledPath VERSION_DURATION_VALUE = CompiledPath.compile(JsonPaths.VERSION_DURATION_VALUE);
+    public static final CompiledPath VERSION_AVAILABILITY = CompiledPath.compile(JsonPaths.VERSION_AVAILABILITY);
+    public static final CompiledPath VERSION_AVAILABILITY_START = CompiledPath.compile(JsonPaths.VERSION_AVAILABILITY_START);
+    public static final CompiledPath VERSION_AVAILABILITY_END = CompiledPath.compile(JsonPaths.VERSION_AVAILABILITY_END);
+    public static final CompiledPath VERSION_AVAILABILITY_REMAINING = CompiledPath.compile(JsonPaths.VERSION_AVAILABILITY_REMAINING);
+    public static final CompiledPath VERSION_FIRST_BROADCAST = CompiledPath.compile(JsonPaths.VERSION_FIRST_BROADCAST);
+    public static final CompiledPath VERSION_FIRST_BROADCAST_DATE_TIME = CompiledPath.compile(JsonPaths.VERSION_FIRST_BROADCAST_DATE_TIME);
+
+    // Event paths
+    public static final CompiledPath VERSION_EVENT = CompiledPath.compile(JsonPaths.VERSION_EVENT);
+    public static final CompiledPath VERSION_EVENT_NAME = CompiledPath.compile(JsonPaths.VERSION_EVENT_NAME);
+    public static final CompiledPath VERSION_EVENT_OFFSET = CompiledPath.compile(JsonPaths.VERSION_EVENT_OFFSET);
+    public static final CompiledPath VERSION_EVENT_SYSTEM = CompiledPath.compile(JsonPaths.VERSION_EVENT_SYSTEM);
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private CompiledJsonPaths() {
+        // Private constructor to hide the implicit public one
+    }
+}
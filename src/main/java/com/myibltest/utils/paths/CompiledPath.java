@@ -0,0 +1,169 @@
+package com.myibltest.utils.paths;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JSON path compiled once into field segments and reused for every lookup.
+ * Array segments written as "[]" or "[%d]" are index slots that are bound when the path is read,
+ * so walking elements × versions × events needs no string formatting or expression parsing.
+ * Paths are evaluated against a parsed tree of Maps and Lists, such as {@link com.myibltest.utils.JsonDocument#root()}.
+ */
+public final class CompiledPath {
+    private final String expression;
+    private final String[] names;
+    private final boolean[] indexed;
+    private final int slotCount;
+
+    private CompiledPath(String expression, String[] names, boolean[] indexed) {
+        this.expression = expression;
+        this.names = names;
+        this.indexed = indexed;
+        int slots = 0;
+        for (boolean isIndexed : indexed) {
+            if (isIndexed) {
+                slots++;
+            }
+        }
+        this.slotCount = slots;
+    }
+
+    /**
+     * Compile a dotted path such as "schedule.elements[].episode.versions[%d].id"
+     *
+     * @param expression the path expression
+     * @return the compiled path
+     */
+    public static CompiledPath compile(String expression) {
+        List<String> names = new ArrayList<>();
+        List<Boolean> indexed = new ArrayList<>();
+        for (String segment : expression.split("\\.")) {
+            if (segment.isEmpty() || segment.equals("$")) {
+                continue;
+            }
+            int bracket = segment.indexOf('[');
+            if (bracket >= 0) {
+                String slot = segment.substring(bracket);
+                if (!slot.equals("[]") && !slot.equals("[%d]")) {
+                    throw new IllegalArgumentException("Unsupported array segment '" + segment + "' in path: " + expression);
+                }
+                names.add(segment.substring(0, bracket));
+                indexed.add(true);
+            } else {
+                names.add(segment);
+                indexed.add(false);
+            }
+        }
+
+        boolean[] indexedArray = new boolean[indexed.size()];
+        for (int i = 0; i < indexedArray.length; i++) {
+            indexedArray[i] = indexed.get(i);
+        }
+        return new CompiledPath(expression, names.toArray(new String[0]), indexedArray);
+    }
+
+    /**
+     * Read a path that has no index slots
+     *
+     * @param root the root of the parsed tree
+     * @return the value at the path, or null if the path does not exist
+     */
+    public Object read(Object root) {
+        return walk(root, 0, 0, 0, 0);
+    }
+
+    /**
+     * Read a path with one index slot
+     *
+     * @param root the root of the parsed tree
+     * @param index0 the index bound to the first slot
+     * @return the value at the path, or null if the path does not exist
+     */
+    public Object read(Object root, int index0) {
+        return walk(root, index0, 0, 0, 1);
+    }
+
+    /**
+     * Read a path with two index slots
+     *
+     * @param root the root of the parsed tree
+     * @param index0 the index bound to the first slot
+     * @param index1 the index bound to the second slot
+     * @return the value at the path, or null if the path does not exist
+     */
+    public Object read(Object root, int index0, int index1) {
+        return walk(root, index0, index1, 0, 2);
+    }
+
+    /**
+     * Read a path with three index slots
+     *
+     * @param root the root of the parsed tree
+     * @param index0 the index bound to the first slot
+     * @param index1 the index bound to the second slot
+     * @param index2 the index bound to the third slot
+     * @return the value at the path, or null if the path does not exist
+     */
+    public Object read(Object root, int index0, int index1, int index2) {
+        return walk(root, index0, index1, index2, 3);
+    }
+
+    private Object walk(Object root, int index0, int index1, int index2, int bound) {
+        if (bound != slotCount) {
+            throw new IllegalArgumentException("Path " + expression + " has " + slotCount + " index slot(s), got " + bound);
+        }
+
+        Object current = root;
+        int slot = 0;
+        for (int i = 0; i < names.length && current != null; i++) {
+            current = current instanceof Map<?, ?> map ? map.get(names[i]) : null;
+            if (indexed[i] && current != null) {
+                int index = slot == 0 ? index0 : slot == 1 ? index1 : index2;
+                slot++;
+                current = current instanceof List<?> list && index >= 0 && index < list.size() ? list.get(index) : null;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Render the path with concrete indices, for use in messages
+     *
+     * @param indices the indices bound to the slots
+     * @return the rendered path, for example "schedule.elements[3].id"
+     */
+    public String format(int... indices) {
+        StringBuilder builder = new StringBuilder();
+        int slot = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                builder.append('.');
+            }
+            builder.append(names[i]);
+            if (indexed[i]) {
+                builder.append('[');
+                if (slot < indices.length) {
+                    builder.append(indices[slot]);
+                }
+                builder.append(']');
+                slot++;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Get the number of index slots in the path
+     *
+     * @return the slot count
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,224 @@
+package com.myibltest.utils.paths;
+
+import com.myibltest.config.ConfigManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A verification rule applied to each element of "schedule.elements".
+ * Rules are stateful: they collect failures while elements are fed to them,
+ * so a fresh instance should be used for every verification run.
+ * Failures are recorded as (index, code, value) and only turned into messages by
+ * {@link #render(int, int, Object)} when a report is requested; at most
+ * "verify.failures.retained" failures are kept per rule, the rest are only counted.
+ * Rules that implement {@link #newChunk()} can verify large arrays in parallel: each chunk of
+ * elements is fed to its own instance and the chunks are merged back in element order.
+ */
+public abstract class ElementRule {
+
+    /**
+     * Index used for failures of the rule as a whole rather than of one element
+     */
+    protected static final int COMPLETION_INDEX = Integer.MAX_VALUE;
+
+    private static final ConfigManager configManager = ConfigManager.getInstance();
+
+    private final String description;
+    private final FailureSink failures;
+    private FailureSink crossChunkFailures;
+    private boolean elementsMissing;
+
+    /**
+     * Constructor
+     *
+     * @param description description used when logging invalid elements
+     */
+    protected ElementRule(String description) {
+        this.description = description;
+        this.failures = new FailureSink(configManager.getIntProperty("verify.failures.retained", 100));
+    }
+
+    /**
+     * Check a single element, recording any failure with {@link #fail(int, int, Object)}
+     *
+     * @param index the index of the element in "schedule.elements"
+     * @param element the element map, or null if the element is null
+     */
+    protected abstract void check(int index, Map<String, Object> element);
+
+    /**
+     * Called once every element has been checked, for rules that aggregate across elements.
+     * Failures of the whole rule are recorded against {@link #COMPLETION_INDEX}.
+     */
+    protected void complete() {
+        // Per-element rules have nothing to aggregate
+    }
+
+    /**
+     * Turn a recorded failure into a message
+     *
+     * @param index the element index, or {@link #COMPLETION_INDEX}
+     * @param code the failure code passed to {@link #fail(int, int, Object)}
+     * @param value the value passed to {@link #fail(int, int, Object)}
+     * @return the failure message
+     */
+    protected abstract String render(int index, int code, Object value);
+
+    /**
+     * Get the fields of an element the rule reads, so elements can be parsed with only those fields
+     * (see {@link PathProjection})
+     *
+     * @return dot paths relative to an element, or null if the rule needs the whole element
+     */
+    protected Collection<String> fieldPaths() {
+        return null;
+    }
+
+    /**
+     * Create a fresh rule of the same kind for verifying a chunk of elements on another thread
+     *
+     * @return the new rule, or null if this rule must see every element in order on one thread
+     */
+    protected ElementRule newChunk() {
+        return null;
+    }
+
+    /**
+     * Fold in the aggregate state of a rule created by {@link #newChunk()} that was fed the
+     * elements directly following the ones this rule has seen. Per-element failures are merged
+     * automatically; rules that aggregate across elements override this to combine their state,
+     * reporting any cross-chunk failure with {@link #fail(int, int, Object)}. Cross-chunk failures are
+     * merged with the chunk's own failures in element order, so a capped report keeps the same failures
+     * as a sequential run.
+     *
+     * @param chunk the rule that verified the following chunk
+     */
+    protected void mergeChunk(ElementRule chunk) {
+        // Per-element rules have no state beyond their failures
+    }
+
+    /**
+     * Record a failure
+     *
+     * @param index the index of the element the failure belongs to
+     * @param code a rule-specific failure code, passed back to {@link #render(int, int, Object)}
+     * @param value the offending value, kept by reference until rendered
+     */
+    protected final void fail(int index, int code, Object value) {
+        (crossChunkFailures != null ? crossChunkFailures : failures).add(index, code, value);
+    }
+
+    /**
+     * Check whether the next failure will be kept for the report, so a rule can skip building
+     * a composite value for a failure that would only be counted
+     *
+     * @return true if the next failure is retained
+     */
+    protected final boolean isRetainingFailures() {
+        return (crossChunkFailures != null ? crossChunkFailures : failures).hasRoom();
+    }
+
+    /**
+     * Feed an element to the rule
+     *
+     * @param index the index of the element
+     * @param element the element map
+     */
+    public void accept(int index, Map<String, Object> element) {
+        check(index, element);
+    }
+
+    /**
+     * Signal that all elements have been fed to the rule
+     */
+    public void finish() {
+        complete();
+    }
+
+    /**
+     * Merge a rule that verified the following chunk of elements into this one
+     *
+     * @param chunk the rule that verified the following chunk
+     */
+    void merge(ElementRule chunk) {
+        crossChunkFailures = new FailureSink(failures.capacity());
+        try {
+            mergeChunk(chunk);
+        } finally {
+            FailureSink crossChunk = crossChunkFailures;
+            crossChunkFailures = null;
+            failures.addAllInOrder(crossChunk, chunk.failures);
+        }
+    }
+
+    /**
+     * Put the failures back in element order after chunks have been merged
+     */
+    void sortFailures() {
+        failures.sortByIndex();
+    }
+
+    /**
+     * Mark the rule as failed because "schedule.elements" is absent or null
+     */
+    public void markElementsMissing() {
+        elementsMissing = true;
+    }
+
+    /**
+     * Check if every element passed the rule
+     *
+     * @return true if the rule passed, false otherwise
+     */
+    public boolean isValid() {
+        return !elementsMissing && failures.total() == 0;
+    }
+
+    /**
+     * Check if the rule failed because "schedule.elements" was missing
+     *
+     * @return true if "schedule.elements" was absent or null
+     */
+    public boolean isElementsMissing() {
+        return elementsMissing;
+    }
+
+    /**
+     * Get the total number of failures, including those not retained
+     *
+     * @return the failure count
+     */
+    public long getFailureCount() {
+        return failures.total();
+    }
+
+    /**
+     * Render the retained failure messages, in element order. When failures were dropped
+     * a final line gives the number not shown.
+     *
+     * @return the failure messages
+     */
+    public List<String> getInvalidElements() {
+        List<String> messages = new ArrayList<>(failures.retained() + 1);
+        for (int i = 0; i < failures.retained(); i++) {
+            messages.add(render(failures.indexAt(i), failures.codeAt(i), failures.valueAt(i)));
+        }
+        long dropped = failures.total() - failures.retained();
+        if (dropped > 0) {
+            messages.add("... and " + dropped + " more");
+        }
+        return messages;
+    }
+
+    /**
+     * Get the rule description
+     *
+     * @return the description
+     */
+    public String getDescription() {
+        return description;
+    }
+}
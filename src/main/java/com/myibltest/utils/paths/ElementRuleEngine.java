@@ -0,0 +1,84 @@
+package com.myibltest.utils.paths;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a set of rules over the elements in a single fused loop.
+ * {@link FieldRule}s are grouped by field path, so each distinct path is resolved once per element
+ * however many rules read it; any other rule is handed the whole element.
+ */
+final class ElementRuleEngine {
+    private final List<ElementRule> rules;
+    private final String[][] paths;
+    private final FieldRule[][] rulesByPath;
+    private final ElementRule[] elementRules;
+
+    private ElementRuleEngine(List<ElementRule> rules) {
+        this.rules = rules;
+        Map<String, List<FieldRule>> byPath = new LinkedHashMap<>();
+        List<ElementRule> others = new ArrayList<>();
+        for (ElementRule rule : rules) {
+            if (rule instanceof FieldRule fieldRule) {
+                byPath.computeIfAbsent(fieldRule.getFieldPath(), path -> new ArrayList<>()).add(fieldRule);
+            } else {
+                others.add(rule);
+            }
+        }
+
+        paths = new String[byPath.size()][];
+        rulesByPath = new FieldRule[byPath.size()][];
+        int slot = 0;
+        for (Map.Entry<String, List<FieldRule>> entry : byPath.entrySet()) {
+            paths[slot] = entry.getKey().split("\\.");
+            rulesByPath[slot] = entry.getValue().toArray(new FieldRule[0]);
+            slot++;
+        }
+        elementRules = others.toArray(new ElementRule[0]);
+    }
+
+    /**
+     * Compile rules into an engine
+     *
+     * @param rules the rules to run
+     * @return the engine
+     */
+    static ElementRuleEngine compile(List<ElementRule> rules) {
+        return new ElementRuleEngine(rules);
+    }
+
+    /**
+     * Run every rule on one element
+     *
+     * @param index the index of the element in "schedule.elements"
+     * @param element the element map, or null if the element is null
+     */
+    void accept(int index, Map<String, Object> element) {
+        boolean present = element != null;
+        for (int slot = 0; slot < paths.length; slot++) {
+            Object value = present ? FieldRule.resolve(element, paths[slot]) : null;
+            for (FieldRule rule : rulesByPath[slot]) {
+                rule.acceptValue(index, present, value);
+            }
+        }
+        for (ElementRule rule : elementRules) {
+            rule.accept(index, element);
+        }
+    }
+
+    /**
+     * Signal that every element has been fed to the rules
+     */
+    void finish() {
+        rules.forEach(ElementRule::finish);
+    }
+
+    /**
+     * Mark every rule as failed because "schedule.elements" is absent or null
+     */
+    void markElementsMissing() {
+        rules.forEach(ElementRule::markElementsMissing);
+    }
+}
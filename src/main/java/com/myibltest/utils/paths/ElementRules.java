@@ -0,0 +1,281 @@
+package com.myibltest.utils.paths;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Factories for declarative element rules: a predicate every element's field must pass, or an
+ * aggregate (count, uniqueness, ordering) across all elements. Fields are addressed by dot paths
+ * relative to an element, e.g. "episode.live". Rules declared here share field lookups when run
+ * together through {@link ElementStreamVerifier}, and can all be verified in parallel chunks.
+ */
+public final class ElementRules {
+
+    /**
+     * Predicate passing non-blank strings
+     */
+    public static final Predicate<Object> NON_BLANK = value -> value instanceof String s && !s.isBlank();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ElementRules() {
+        // Private constructor to hide the implicit public one
+    }
+
+    /**
+     * Rule requiring a field of every element to pass a predicate
+     *
+     * @param description description used when logging invalid elements
+     * @param fieldPath dot path of the field within an element
+     * @param predicate the predicate the field value must pass (the value is null when absent)
+     * @param failureFormat failure message format, given the element index (%d) and the value (%s)
+     * @return a new rule instance
+     */
+    public static ElementRule require(String description, String fieldPath, Predicate<Object> predicate,
+                                      String failureFormat) {
+        return new RequireRule(description, fieldPath, predicate, failureFormat);
+    }
+
+    /**
+     * Rule requiring the number of elements whose field passes a predicate to equal an expected count
+     *
+     * @param description description used when logging the failure
+     * @param fieldPath dot path of the field within an element
+     * @param predicate the predicate selecting the elements to count
+     * @param expectedCount the expected count
+     * @param failureFormat failure message format, given the expected (%d) and actual (%d) counts
+     * @return a new rule instance
+     */
+    public static ElementRule count(String description, String fieldPath, Predicate<Object> predicate,
+                                    int expectedCount, String failureFormat) {
+        return new CountRule(description, fieldPath, predicate, expectedCount, failureFormat);
+    }
+
+    /**
+     * Rule requiring a field to be unique across elements. Elements without the field are ignored.
+     *
+     * @param description description used when logging invalid elements
+     * @param fieldPath dot path of the field within an element
+     * @return a new rule instance
+     */
+    public static ElementRule unique(String description, String fieldPath) {
+        return new UniqueRule(description, fieldPath);
+    }
+
+    /**
+     * Rule requiring a field to be in non-decreasing natural order across elements.
+     * Elements without the field are ignored; values must be mutually comparable, e.g. ISO-8601 strings.
+     *
+     * @param description description used when logging invalid elements
+     * @param fieldPath dot path of the field within an element
+     * @return a new rule instance
+     */
+    public static ElementRule ordered(String description, String fieldPath) {
+        return new OrderedRule(description, fieldPath);
+    }
+
+    private static final class RequireRule extends FieldRule {
+        private static final int NULL_ELEMENT = 0;
+        private static final int INVALID_VALUE = 1;
+
+        private final Predicate<Object> predicate;
+        private final String failureFormat;
+
+        RequireRule(String description, String fieldPath, Predicate<Object> predicate, String failureFormat) {
+            super(description, fieldPath);
+            this.predicate = predicate;
+            this.failureFormat = failureFormat;
+        }
+
+        @Override
+        protected void checkValue(int index, boolean elementPresent, Object value) {
+            if (!elementPresent) {
+                fail(index, NULL_ELEMENT, null);
+            } else if (!predicate.test(value)) {
+                fail(index, INVALID_VALUE, value);
+            }
+        }
+
+        @Override
+        protected String render(int index, int code, Object value) {
+            return code == NULL_ELEMENT
+                    ? String.format("Element at index %d is null", index)
+                    : String.format(failureFormat, index, value);
+        }
+
+        @Override
+        protected ElementRule newChunk() {
+            return new RequireRule(getDescription(), getFieldPath(), predicate, failureFormat);
+        }
+    }
+
+    private static final class CountRule extends FieldRule {
+        private final Predicate<Object> predicate;
+        private final int expectedCount;
+        private final String failureFormat;
+        private int count;
+
+        CountRule(String description, String fieldPath, Predicate<Object> predicate, int expectedCount,
+                  String failureFormat) {
+            super(description, fieldPath);
+            this.predicate = predicate;
+            this.expectedCount = expectedCount;
+            this.failureFormat = failureFormat;
+        }
+
+        @Override
+        protected void checkValue(int index, boolean elementPresent, Object value) {
+            if (elementPresent && predicate.test(value)) {
+                count++;
+            }
+        }
+
+        @Override
+        protected void complete() {
+            if (count != expectedCount) {
+                fail(COMPLETION_INDEX, 0, count);
+            }
+        }
+
+        @Override
+        protected String render(int index, int code, Object value) {
+            return String.format(failureFormat, expectedCount, value);
+        }
+
+        @Override
+        protected ElementRule newChunk() {
+            return new CountRule(getDescription(), getFieldPath(), predicate, expectedCount, failureFormat);
+        }
+
+        @Override
+        protected void mergeChunk(ElementRule chunk) {
+            count += ((CountRule) chunk).count;
+        }
+    }
+
+    private static final class UniqueRule extends FieldRule {
+        private final Map<Object, Integer> firstIndex = new HashMap<>();
+        private int[] duplicateIndexes = new int[0];
+        private Object[] duplicateValues = new Object[0];
+        private int duplicateCount;
+
+        UniqueRule(String description, String fieldPath) {
+            super(description, fieldPath);
+        }
+
+        @Override
+        protected void checkValue(int index, boolean elementPresent, Object value) {
+            if (value != null && firstIndex.putIfAbsent(value, index) != null) {
+                addDuplicate(index, value);
+            }
+        }
+
+        @Override
+        protected ElementRule newChunk() {
+            return new UniqueRule(getDescription(), getFieldPath());
+        }
+
+        @Override
+        protected void mergeChunk(ElementRule chunk) {
+            UniqueRule next = (UniqueRule) chunk;
+            for (int i = 0; i < next.duplicateCount; i++) {
+                addDuplicate(next.duplicateIndexes[i], next.duplicateValues[i]);
+            }
+            next.firstIndex.forEach((value, index) -> {
+                if (firstIndex.putIfAbsent(value, index) != null) {
+                    addDuplicate(index, value);
+                }
+            });
+        }
+
+        @Override
+        protected void complete() {
+            // Recorded at the end, once the first use of every value is known across all chunks
+            Integer[] order = new Integer[duplicateCount];
+            for (int i = 0; i < duplicateCount; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(duplicateIndexes[a], duplicateIndexes[b]));
+            for (Integer i : order) {
+                fail(duplicateIndexes[i], 0, duplicateValues[i]);
+            }
+        }
+
+        @Override
+        protected String render(int index, int code, Object value) {
+            return String.format("Element at index %d has %s '%s' already used at index %d",
+                    index, getFieldPath(), value, firstIndex.get(value));
+        }
+
+        private void addDuplicate(int index, Object value) {
+            if (duplicateCount == duplicateIndexes.length) {
+                int size = Math.max(8, duplicateCount * 2);
+                duplicateIndexes = Arrays.copyOf(duplicateIndexes, size);
+                duplicateValues = Arrays.copyOf(duplicateValues, size);
+            }
+            duplicateIndexes[duplicateCount] = index;
+            duplicateValues[duplicateCount] = value;
+            duplicateCount++;
+        }
+    }
+
+    private static final class OrderedRule extends FieldRule {
+        private Comparable<Object> first;
+        private int firstIndex;
+        private Comparable<Object> previous;
+
+        OrderedRule(String description, String fieldPath) {
+            super(description, fieldPath);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void checkValue(int index, boolean elementPresent, Object value) {
+            if (!(value instanceof Comparable)) {
+                return;
+            }
+            Comparable<Object> current = (Comparable<Object>) value;
+            if (previous == null) {
+                first = current;
+                firstIndex = index;
+            } else if (current.compareTo(previous) < 0) {
+                outOfOrder(index, current, previous);
+            }
+            previous = current;
+        }
+
+        @Override
+        protected ElementRule newChunk() {
+            return new OrderedRule(getDescription(), getFieldPath());
+        }
+
+        @Override
+        protected void mergeChunk(ElementRule chunk) {
+            OrderedRule next = (OrderedRule) chunk;
+            if (next.previous == null) {
+                return;
+            }
+            if (previous == null) {
+                first = next.first;
+                firstIndex = next.firstIndex;
+            } else if (next.first.compareTo(previous) < 0) {
+                outOfOrder(next.firstIndex, next.first, previous);
+            }
+            previous = next.previous;
+        }
+
+        @Override
+        protected String render(int index, int code, Object value) {
+            Object[] pair = (Object[]) value;
+            return String.format("Element at index %d has %s %s before previous %s", index, getFieldPath(), pair[0], pair[1]);
+        }
+
+        private void outOfOrder(int index, Object value, Object before) {
+            // The value pair is only allocated for failures that will be reported
+            fail(index, 0, isRetainingFailures() ? new Object[] {value, before} : null);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.myibltest.utils.paths;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myibltest.config.ConfigManager;
+import com.myibltest.metrics.MetricsRegistry;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-pass verifier for "schedule.elements".
+ * The response body is read once with a Jackson streaming parser; each element is
+ * materialized on its own and handed to every registered {@link ElementRule} before
+ * the parser moves on, so the full schedule is never held in memory. Rules are compiled
+ * into an {@link ElementRuleEngine}, so fields shared by several rules are looked up once.
+ * When parallel verification is enabled ("verify.parallel.threshold" above 0) and every rule can be
+ * chunked, the first "verify.parallel.threshold" elements are still streamed; only an array that runs
+ * past them has the byte range of each remaining element recorded, and those elements are then parsed
+ * and verified in parallel chunks (see {@link ChunkedVerification}). Arrays below the threshold are
+ * read once, element by element.
+ * With "json.projection.enabled", and when every rule declares the fields it reads, each element is
+ * parsed through a {@link PathProjection} of those fields: images, synopses, versions and any other
+ * subtree no rule looks at are skipped at token level instead of being built into maps.
+ */
+public class ElementStreamVerifier {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementStreamVerifier.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ConfigManager configManager = ConfigManager.getInstance();
+    private static final TypeReference<Map<String, Object>> ELEMENT_TYPE = new TypeReference<>() {};
+
+    private final List<ElementRule> rules = new ArrayList<>();
+    private String endpoint;
+    private int elementCount;
+
+    /**
+     * Register a rule to run on every element
+     *
+     * @param rule the rule to register
+     * @return this verifier
+     */
+    public ElementStreamVerifier register(ElementRule rule) {
+        rules.add(rule);
+        return this;
+    }
+
+    /**
+     * Set the endpoint the verified responses come from, used to tag rule outcomes in the {@link MetricsRegistry}
+     *
+     * @param endpoint the endpoint or endpoint template
+     * @return this verifier
+     */
+    public ElementStreamVerifier endpoint(String endpoint) {
+        this.endpoint = endpoint;
+        return this;
+    }
+
+    /**
+     * Register several rules to run on every element
+     *
+     * @param rules the rules to register
+     * @return this verifier
+     */
+    public ElementStreamVerifier registerAll(List<ElementRule> rules) {
+        this.rules.addAll(rules);
+        return this;
+    }
+
+    /**
+     * Verify the elements of a RestAssured response
+     *
+     * @param response the RestAssured response
+     * @return true if every registered rule passed, false otherwise
+     */
+    public boolean verify(Response response) {
+        return verify(response.asByteArray());
+    }
+
+    /**
+     * Verify the elements of a JSON document
+     *
+     * @param body the raw JSON document
+     * @return true if every registered rule passed, false otherwise
+     */
+    public boolean verify(byte[] body) {
+        ElementRuleEngine engine = ElementRuleEngine.compile(rules);
+        int threshold = configManager.getIntProperty("verify.parallel.threshold", 10000);
+        int streamLimit = threshold > 0 && ChunkedVerification.isChunkable(rules) ? threshold : Integer.MAX_VALUE;
+        PathProjection projection = configManager.getBooleanProperty("json.projection.enabled", false)
+                ? elementProjection() : null;
+        try (JsonParser parser = MAPPER.getFactory().createParser(body)) {
+            if (!moveToElements(parser)) {
+                engine.markElementsMissing();
+            } else if (!streamElements(parser, engine, projection, streamLimit)) {
+                verifyChunked(parser, body, projection, streamLimit);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.error("Failed to parse response body: {}", e.getMessage());
+            engine.markElementsMissing();
+        }
+
+        boolean allValid = true;
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        for (ElementRule rule : rules) {
+            ElementVerification.report(rule);
+            metrics.recordRule(endpoint, rule.getDescription(), rule.isValid());
+            allValid &= rule.isValid();
+        }
+        return allValid;
+    }
+
+    /**
+     * Build the projection of every field the registered rules read
+     *
+     * @return the projection, or null if a rule needs whole elements
+     */
+    private PathProjection elementProjection() {
+        Set<String> paths = new LinkedHashSet<>();
+        for (ElementRule rule : rules) {
+            Collection<String> fieldPaths = rule.fieldPaths();
+            if (fieldPaths == null) {
+                return null;
+            }
+            paths.addAll(fieldPaths);
+        }
+        return PathProjection.of(paths);
+    }
+
+    /**
+     * Read the element object the parser is positioned on
+     *
+     * @param parser the parser positioned on the START_OBJECT token of the element
+     * @param projection the fields to keep, or null to read the whole element
+     * @return the element map
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readElement(JsonParser parser, PathProjection projection) throws IOException {
+        return projection == null
+                ? MAPPER.readValue(parser, ELEMENT_TYPE)
+                : (Map<String, Object>) projection.read(parser);
+    }
+
+    /**
+     * Position the parser on the START_ARRAY token of "schedule.elements"
+     *
+     * @param parser the parser positioned before the root value
+     * @return true if the array was found, false otherwise
+     */
+    static boolean moveToElements(JsonParser parser) throws IOException {
+        return parser.nextToken() == JsonToken.START_OBJECT
+                && moveToField(parser, "schedule") == JsonToken.START_OBJECT
+                && moveToField(parser, "elements") == JsonToken.START_ARRAY;
+    }
+
+    /**
+     * Advance through the current object until the named field, skipping other values
+     *
+     * @param parser the parser positioned inside an object
+     * @param name the field name to look for
+     * @return the value token of the field, or null if the object has no such field
+     */
+    private static JsonToken moveToField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            JsonToken value = parser.nextToken();
+            if (name.equals(parser.currentName())) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    /**
+     * Feed the elements of the array to the registered rules, up to a limit
+     *
+     * @param parser the parser positioned on the START_ARRAY token
+     * @param engine the compiled rules
+     * @param projection the fields to keep, or null to read whole elements
+     * @param limit the number of elements to stream before stopping
+     * @return true if the whole array was streamed and the rules finished, false if the limit was reached
+     * first, with the parser on the last element fed
+     */
+    private boolean streamElements(JsonParser parser, ElementRuleEngine engine, PathProjection projection, int limit)
+            throws IOException {
+        int index = 0;
+        JsonToken token = null;
+        while (index < limit && (token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            Map<String, Object> element = null;
+            if (token == JsonToken.START_OBJECT) {
+                element = readElement(parser, projection);
+            } else {
+                parser.skipChildren();
+            }
+            engine.accept(index, element);
+            index++;
+        }
+        elementCount = index;
+        if (index == limit && token != JsonToken.END_ARRAY) {
+            return false;
+        }
+        if (token == null) {
+            throw new IOException("Unexpected end of input inside 'schedule.elements'");
+        }
+        engine.finish();
+        return true;
+    }
+
+    /**
+     * Record the byte range of every remaining element, then parse and verify them in chunks
+     *
+     * @param parser the parser positioned on the last element already streamed
+     * @param body the raw JSON document the parser reads
+     * @param projection the fields to keep, or null to read whole elements
+     * @param from the number of elements already streamed to the rules
+     */
+    private void verifyChunked(JsonParser parser, byte[] body, PathProjection projection, int from)
+            throws IOException {
+        int[] starts = new int[64];
+        int[] ends = new int[64];
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            if (token == JsonToken.START_OBJECT) {
+                starts[count] = (int) parser.currentTokenLocation().getByteOffset();
+                parser.skipChildren();
+                ends[count] = (int) parser.currentTokenLocation().getByteOffset() + 1;
+            } else {
+                parser.skipChildren();
+                starts[count] = -1;
+            }
+            count++;
+        }
+        if (token == null) {
+            throw new IOException("Unexpected end of input inside 'schedule.elements'");
+        }
+
+        int[] elementStarts = starts;
+        int[] elementEnds = ends;
+        elementCount = from + count;
+        ChunkedVerification.run(rules, from, from + count, index -> {
+            int offset = index - from;
+            if (elementStarts[offset] < 0) {
+                return null;
+            }
+            int start = elementStarts[offset];
+            try (JsonParser elementParser = MAPPER.getFactory().createParser(body, start, elementEnds[offset] - start)) {
+                elementParser.nextToken();
+                return readElement(elementParser, projection);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Get the number of elements seen in the last verification
+     *
+     * @return the element count
+     */
+    public int getElementCount() {
+        return elementCount;
+    }
+
+    /**
+     * Get the registered rules
+     *
+     * @return the registered rules
+     */
+    public List<ElementRule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
+}
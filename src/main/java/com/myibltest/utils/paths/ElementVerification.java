@@ -1,15 +1,15 @@
 package com.myibltest.utils.paths;
 
-import com.jayway.jsonpath.DocumentContext;
-import com.jayway.jsonpath.JsonPath;
-//import org.testng.Assert;
-//import org.testng.annotations.Test;
+import com.myibltest.utils.IsoTimestamps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
 public class ElementVerification {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementVerification.class);
 
     /**
      * Verifies that every element's ID field is not null or empty
@@ -17,34 +17,7 @@ public class ElementVerification {
      * @return true if all element IDs are valid, false otherwise
      */
     public boolean verifyElementIds(List<Map<String, Object>> elements) {
-        boolean allValid = true;
-        List<String> invalidElements = new ArrayList<>();
-
-        if (elements == null) {
-            System.out.println("Error: 'schedule.elements' is null.");
-            return false;
-        }
-
-        for (int i = 0; i < elements.size(); i++) {
-            Map<String, Object> element = elements.get(i);
-            if (element != null) {
-                String id = (String) element.get("id");
-                if (id == null || id.trim().isEmpty()) {
-                    allValid = false;
-                    invalidElements.add("Element at index " + i + " has empty ID");
-                }
-            } else {
-                allValid = false;
-                invalidElements.add("Element at index " + i + " is null");
-            }
-        }
-
-        // Log invalid element indices if any
-        if (!invalidElements.isEmpty()) {
-            System.out.println("Elements with invalid or missing IDs: " + String.join(", ", invalidElements));
-        }
-
-        return allValid;
+        return verify(elements, elementIdRule());
     }
 
     /**
@@ -54,40 +27,7 @@ public class ElementVerification {
      * @return true if all episode types are "episode", false otherwise
      */
     public boolean verifyEpisodeTypes(List<Map<String, Object>> elements) {
-        boolean allValid = true;
-        List<String> invalidElements = new ArrayList<>();
-
-        if (elements == null) {
-            System.out.println("Error: 'schedule.elements' is null.");
-            return false;
-        }
-
-        for (int i = 0; i < elements.size(); i++) {
-            Map<String, Object> element = elements.get(i);
-            if (element != null) {
-                Map<String, Object> episode = (Map<String, Object>) element.get("episode");
-                if (episode != null) {
-                    String type = (String) episode.get("type");
-                    if (type == null || !type.equals("episode")) {
-                        allValid = false;
-                        invalidElements.add("Element at index " + i + " has episode type: " + type);
-                    }
-                } else {
-                    allValid = false;
-                    invalidElements.add("Element at index " + i + " is missing 'episode' object");
-                }
-            } else {
-                allValid = false;
-                invalidElements.add("Element at index " + i + " is null");
-            }
-        }
-
-        // Log invalid element indices if any
-        if (!invalidElements.isEmpty()) {
-            System.out.println("Elements with invalid episode types: " + String.join(", ", invalidElements));
-        }
-
-        return allValid;
+        return verify(elements, episodeTypeRule("episode"));
     }
 
     /**
@@ -97,70 +37,177 @@ public class ElementVerification {
      * @return true if all episode titles are valid, false otherwise
      */
     public boolean verifyEpisodeTitles(List<Map<String, Object>> elements) {
-        boolean allValid = true;
-        List<String> invalidElements = new ArrayList<>();
+        return verify(elements, episodeTitleRule());
+    }
 
+    /**
+     * Verifies that only one episode has the "live" field set to true
+     *
+     * @param elements The list of element maps from the JSON response
+     * @return true if only one live episode exists, false otherwise
+     */
+    public boolean verifySingleLiveEpisode(List<Map<String, Object>> elements) {
+        return verify(elements, singleLiveElementRule());
+    }
+
+    /**
+     * Run a rule over an already materialized list of elements, in parallel chunks for large lists
+     *
+     * @param elements The list of element maps from the JSON response
+     * @param rule the rule to apply
+     * @return true if the rule passed, false otherwise
+     */
+    private boolean verify(List<Map<String, Object>> elements, ElementRule rule) {
         if (elements == null) {
-            System.out.println("Error: 'schedule.elements' is null.");
-            return false;
+            rule.markElementsMissing();
+        } else {
+            ChunkedVerification.run(List.of(rule), elements.size(), elements::get);
         }
+        report(rule);
+        return rule.isValid();
+    }
 
-        for (int i = 0; i < elements.size(); i++) {
-            Map<String, Object> element = elements.get(i);
-            if (element != null) {
-                Map<String, Object> episode = (Map<String, Object>) element.get("episode");
-                if (episode != null) {
-                    String title = (String) episode.get("title");
-                    if (title == null || title.trim().isEmpty()) {
-                        allValid = false;
-                        invalidElements.add("Element at index " + i + " has empty episode title");
-                    }
-                } else {
-                    allValid = false;
-                    invalidElements.add("Element at index " + i + " is missing 'episode' object");
-                }
-            } else {
-                allValid = false;
-                invalidElements.add("Element at index " + i + " is null");
-            }
+    /**
+     * Log the failures collected by a rule, if any. Messages are only rendered when warnings are logged.
+     *
+     * @param rule the rule to report on
+     */
+    public static void report(ElementRule rule) {
+        if (rule.isElementsMissing()) {
+            LOGGER.error("'schedule.elements' is null.");
+        } else if (!rule.isValid() && LOGGER.isWarnEnabled()) {
+            LOGGER.warn("{}: {}", rule.getDescription(), String.join(", ", rule.getInvalidElements()));
         }
+    }
 
-        // Log invalid element indices if any
-        if (!invalidElements.isEmpty()) {
-            System.out.println("Elements with invalid or missing episode titles: " + String.join(", ", invalidElements));
-        }
+    /**
+     * Rules every schedule payload is expected to pass
+     *
+     * @return new instances of the element ID, unique ID, episode type, episode title and transmission date rules
+     */
+    public static List<ElementRule> scheduleRules() {
+        return List.of(elementIdRule(), uniqueElementIdRule(), episodeTypeRule("episode"), episodeTitleRule(),
+                transmissionStartBeforeEndRule());
+    }
 
-        return allValid;
+    /**
+     * Rule checking that every element's ID field is not null or empty
+     *
+     * @return a new rule instance
+     */
+    public static ElementRule elementIdRule() {
+        return ElementRules.require("Elements with invalid or missing IDs", "id", ElementRules.NON_BLANK,
+                "Element at index %d has empty ID");
     }
 
     /**
-     * Verifies that only one episode has the "live" field set to true
+     * Rule checking that no two elements share an ID
      *
-     * @param elements The list of element maps from the JSON response
-     * @return true if only one live episode exists, false otherwise
+     * @return a new rule instance
      */
-    public boolean verifySingleLiveEpisode(List<Map<String, Object>> elements) {
-        int liveCount = 0;
+    public static ElementRule uniqueElementIdRule() {
+        return ElementRules.unique("Elements with duplicate IDs", "id");
+    }
 
-        if (elements == null) {
-            System.out.println("Error: 'schedule.elements' is null.");
-            return false;
-        }
+    /**
+     * Rule checking that the "type" in "episode" path for every item matches the expected type
+     *
+     * @param expectedType the expected episode type
+     * @return a new rule instance
+     */
+    public static ElementRule episodeTypeRule(String expectedType) {
+        return ElementRules.require("Elements with invalid episode types", "episode.type", expectedType::equals,
+                "Element at index %d has episode type: %s");
+    }
 
-        for (Map<String, Object> element : elements) {
-            if (element != null) {
-                Boolean live = (Boolean) element.get("live");
-                if (Boolean.TRUE.equals(live)) {
-                    liveCount++;
+    /**
+     * Rule checking that the "title" in "episode" path for every item is not null or empty
+     *
+     * @return a new rule instance
+     */
+    public static ElementRule episodeTitleRule() {
+        return ElementRules.require("Elements with invalid or missing episode titles", "episode.title",
+                ElementRules.NON_BLANK, "Element at index %d has empty episode title");
+    }
+
+    /**
+     * Rule checking that exactly one element has its own "live" field set to true
+     *
+     * @return a new rule instance
+     */
+    public static ElementRule singleLiveElementRule() {
+        return ElementRules.count("Live episode count", "live", Boolean.TRUE::equals, 1,
+                "Expected %d live episode, but found %d");
+    }
+
+    /**
+     * Rule checking the number of elements whose "episode.live" field is true
+     *
+     * @param expectedLiveCount the expected number of live episodes
+     * @return a new rule instance
+     */
+    public static ElementRule liveEpisodeCountRule(int expectedLiveCount) {
+        return ElementRules.count("Live episode count", "episode.live", Boolean.TRUE::equals, expectedLiveCount,
+                "Expected %d live episode(s), but found %d");
+    }
+
+    /**
+     * Rule checking that "transmission_start" is before "transmission_end" for every item
+     *
+     * @return a new rule instance
+     */
+    public static ElementRule transmissionStartBeforeEndRule() {
+        return new ElementRule("Invalid transmission dates") {
+            private static final int NULL_ELEMENT = 0;
+            private static final int MISSING_DATE = 1;
+            private static final int NOT_BEFORE = 2;
+            private static final int INVALID_FORMAT = 3;
+
+            @Override
+            protected void check(int index, Map<String, Object> element) {
+                if (element == null) {
+                    fail(index, NULL_ELEMENT, null);
+                    return;
+                }
+                Object startStr = element.get("transmission_start");
+                Object endStr = element.get("transmission_end");
+                if (startStr == null || endStr == null) {
+                    fail(index, MISSING_DATE, null);
+                    return;
+                }
+
+                long start = IsoTimestamps.parseEpochMillis(startStr.toString());
+                long end = IsoTimestamps.parseEpochMillis(endStr.toString());
+                if (start == IsoTimestamps.INVALID || end == IsoTimestamps.INVALID) {
+                    fail(index, INVALID_FORMAT, null);
+                } else if (start >= end) {
+                    fail(index, NOT_BEFORE, element);
                 }
             }
-        }
 
-        if (liveCount != 1) {
-            System.out.println("Expected 1 live episode, but found " + liveCount);
-            return false;
-        }
+            @Override
+            protected String render(int index, int code, Object value) {
+                return switch (code) {
+                    case NULL_ELEMENT -> String.format("Element at index %d is null", index);
+                    case MISSING_DATE -> String.format("Element at index %d is missing start or end date", index);
+                    case NOT_BEFORE -> {
+                        Map<?, ?> element = (Map<?, ?>) value;
+                        yield String.format("Element at index %d: start [%s] is not before end [%s]",
+                                index, element.get("transmission_start"), element.get("transmission_end"));
+                    }
+                    default -> String.format("Element at index %d has invalid date format", index);
+                };
+            }
 
-        return true;
+            @Override
+            protected Collection<String> fieldPaths() {
+                return List.of("transmission_start", "transmission_end");
+            }
+
+            @Override
+            protected ElementRule newChunk() {
+                return transmissionStartBeforeEndRule();
+            }
+        };
     }
 }
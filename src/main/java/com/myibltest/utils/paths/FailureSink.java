@@ -0,0 +1,130 @@
+package com.myibltest.utils.paths;
+
+import java.util.Arrays;
+
+/**
+ * Compact store of the failures found by one rule. Each failure is kept as an element index, a
+ * rule-specific failure code and a reference to the offending value, in parallel arrays; no message
+ * is built until a report asks for one. At most {@code capacity} failures are retained, the rest are
+ * only counted.
+ */
+final class FailureSink {
+    private static final int INITIAL_SIZE = 8;
+
+    private final int capacity;
+    private int[] indexes = new int[0];
+    private int[] codes = new int[0];
+    private Object[] values = new Object[0];
+    private int retained;
+    private long total;
+
+    /**
+     * Constructor
+     *
+     * @param capacity the maximum number of failures retained
+     */
+    FailureSink(int capacity) {
+        this.capacity = Math.max(0, capacity);
+    }
+
+    /**
+     * Record a failure
+     *
+     * @param index the element index
+     * @param code the rule-specific failure code
+     * @param value the offending value, kept by reference
+     */
+    void add(int index, int code, Object value) {
+        total++;
+        if (retained == capacity) {
+            return;
+        }
+        if (retained == indexes.length) {
+            int size = Math.min(capacity, Math.max(INITIAL_SIZE, retained * 2));
+            indexes = Arrays.copyOf(indexes, size);
+            codes = Arrays.copyOf(codes, size);
+            values = Arrays.copyOf(values, size);
+        }
+        indexes[retained] = index;
+        codes[retained] = code;
+        values[retained] = value;
+        retained++;
+    }
+
+    /**
+     * Check whether the next failure would be retained, so callers can skip building an expensive value
+     *
+     * @return true if below capacity
+     */
+    boolean hasRoom() {
+        return retained < capacity;
+    }
+
+    /**
+     * Append the failures of two sinks, interleaved by element index, so that when this sink fills up
+     * the failures kept are those of the lowest indexes
+     *
+     * @param first a sink whose retained failures are in element order
+     * @param second another sink whose retained failures are in element order
+     */
+    void addAllInOrder(FailureSink first, FailureSink second) {
+        int i = 0;
+        int j = 0;
+        while (i < first.retained || j < second.retained) {
+            if (j == second.retained || i < first.retained && first.indexes[i] <= second.indexes[j]) {
+                add(first.indexes[i], first.codes[i], first.values[i]);
+                i++;
+            } else {
+                add(second.indexes[j], second.codes[j], second.values[j]);
+                j++;
+            }
+        }
+        total += first.total - first.retained + second.total - second.retained;
+    }
+
+    /**
+     * Put the retained failures in element order
+     */
+    void sortByIndex() {
+        // Failures are almost sorted (chunks arrive in order), so insertion sort is close to linear
+        for (int i = 1; i < retained; i++) {
+            int index = indexes[i];
+            int code = codes[i];
+            Object value = values[i];
+            int j = i - 1;
+            while (j >= 0 && indexes[j] > index) {
+                indexes[j + 1] = indexes[j];
+                codes[j + 1] = codes[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            indexes[j + 1] = index;
+            codes[j + 1] = code;
+            values[j + 1] = value;
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int retained() {
+        return retained;
+    }
+
+    long total() {
+        return total;
+    }
+
+    int indexAt(int i) {
+        return indexes[i];
+    }
+
+    int codeAt(int i) {
+        return codes[i];
+    }
+
+    Object valueAt(int i) {
+        return values[i];
+    }
+}
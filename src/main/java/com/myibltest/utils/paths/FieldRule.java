@@ -0,0 +1,84 @@
+package com.myibltest.utils.paths;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A rule that only looks at one field of each element, addressed by a dot path such as "episode.title".
+ * When rules run through an {@link ElementRuleEngine}, the path is resolved once per element and the
+ * value shared by every rule on the same path.
+ */
+abstract class FieldRule extends ElementRule {
+    private final String fieldPath;
+    private final String[] segments;
+
+    /**
+     * Constructor
+     *
+     * @param description description used when logging invalid elements
+     * @param fieldPath dot path of the field within an element
+     */
+    FieldRule(String description, String fieldPath) {
+        super(description);
+        this.fieldPath = fieldPath;
+        this.segments = fieldPath.split("\\.");
+    }
+
+    /**
+     * Check the field value of a single element, recording any failure with {@link #fail(int, int, Object)}
+     *
+     * @param index the index of the element in "schedule.elements"
+     * @param elementPresent false if the element itself is null
+     * @param value the field value, or null if the element or field is absent
+     */
+    protected abstract void checkValue(int index, boolean elementPresent, Object value);
+
+    @Override
+    protected final void check(int index, Map<String, Object> element) {
+        checkValue(index, element != null, element != null ? resolve(element, segments) : null);
+    }
+
+    @Override
+    protected Collection<String> fieldPaths() {
+        return List.of(fieldPath);
+    }
+
+    /**
+     * Feed an already resolved field value to the rule
+     *
+     * @param index the index of the element
+     * @param elementPresent false if the element itself is null
+     * @param value the field value
+     */
+    void acceptValue(int index, boolean elementPresent, Object value) {
+        checkValue(index, elementPresent, value);
+    }
+
+    /**
+     * Get the dot path of the field
+     *
+     * @return the field path
+     */
+    String getFieldPath() {
+        return fieldPath;
+    }
+
+    /**
+     * Resolve a dot path against an element
+     *
+     * @param element the element map
+     * @param segments the path segments
+     * @return the value, or null if any segment is absent or not an object
+     */
+    static Object resolve(Map<String, Object> element, String[] segments) {
+        Object current = element;
+        for (String segment : segments) {
+            if (!(current instanceof Map)) {
+                return null;
+            }
+            current = ((Map<?, ?>) current).get(segment);
+        }
+        return current;
+    }
+}
@@ -2,6 +2,7 @@ package com.myibltest.utils.paths;
 
 /**
  * Class to hold JSON path constants
+ * @see CompiledJsonPaths for precompiled versions of these paths
  */
 public class JsonPaths {
     // Root paths
@@ -79,7 +80,8 @@ public class JsonPaths {
     public static final String VERSION_FIRST_BROADCAST = "schedule.elements[].episode.versions[].first_broadcast";
     public static final String VERSION_FIRST_BROADCAST_DATE_TIME = "schedule.elements[].episode.versions[].first_broadcast_date_time";
 
-    // Event paths - use with String.format(VERSION_EVENT_NAME, elementIndex, versionIndex, eventIndex)
+    // Event paths - use with String.format(VERSION_EVENT_NAME, elementIndex, versionIndex, eventIndex),
+    // or bind the indices on CompiledJsonPaths.VERSION_EVENT_NAME to avoid formatting inside loops
     public static final String VERSION_EVENT = "schedule.elements[%d].episode.versions[%d].events[%d]";
     public static final String VERSION_EVENT_NAME = "schedule.elements[%d].episode.versions[%d].events[%d].name";
     public static final String VERSION_EVENT_OFFSET = "schedule.elements[%d].episode.versions[%d].events[%d].offset";
@@ -0,0 +1,200 @@
+package com.myibltest.utils.paths;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The set of JSON paths a caller will read, used to parse only those parts of a document.
+ * Paths use the dotted syntax of {@link JsonPaths}; a leading "$." is optional and array
+ * subscripts ("[]", "[*]", "[3]", "[%d]") all mean "every element". Filters, deep scans, functions and
+ * bracketed names ("[?(...)]", "..", "length()", "['name']") cannot be mapped to the fields they read, so
+ * such a path stands for the whole document: projecting it keeps everything, and it is never covered by
+ * a narrower projection. The paths form a tree that is
+ * walked along with the streaming parser: fields off every path are skipped at token level with
+ * {@link JsonParser#skipChildren()}, so their subtrees are never materialized, while everything below
+ * the end of a path is read whole. Arrays on a path keep all their elements (objects without a projected
+ * field become empty objects), so element indexes are the same as in the full document.
+ * The tree is walked by hand rather than through Jackson's FilteringParserDelegate, which in 2.14 emits
+ * a stray FIELD_NAME token when asked to keep emptied objects.
+ */
+public final class PathProjection {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern NOT_DOTTED = Pattern.compile("\\.\\.|[(@]|\\[(?!(\\d*|\\*|%d)])");
+
+    private final Set<String> paths;
+    private final Node root = new Node();
+
+    private PathProjection(Set<String> paths) {
+        this.paths = Collections.unmodifiableSet(paths);
+        for (String path : paths) {
+            Node node = root;
+            for (String segment : segments(path)) {
+                if (node.leaf) {
+                    break;
+                }
+                node = node.children.computeIfAbsent(segment, name -> new Node());
+            }
+            node.leaf = true;
+            node.children.clear();
+        }
+    }
+
+    /**
+     * Create a projection
+     *
+     * @param paths the paths to keep
+     * @return the projection
+     */
+    public static PathProjection of(Collection<String> paths) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String path : paths) {
+            normalized.add(String.join(".", segments(path)));
+        }
+        return new PathProjection(normalized);
+    }
+
+    /**
+     * Create a projection that also keeps one more path
+     *
+     * @param path the path to add
+     * @return a new projection
+     */
+    public PathProjection with(String path) {
+        Set<String> union = new LinkedHashSet<>(paths);
+        union.add(String.join(".", segments(path)));
+        return new PathProjection(union);
+    }
+
+    /**
+     * Create a projection of the same paths nested under a prefix,
+     * e.g. element-relative paths under "schedule.elements[]"
+     *
+     * @param prefix the path the projected paths are relative to
+     * @return a new projection
+     */
+    public PathProjection under(String prefix) {
+        String base = String.join(".", segments(prefix));
+        Set<String> nested = new LinkedHashSet<>();
+        for (String path : paths) {
+            nested.add(path.isEmpty() ? base : base + "." + path);
+        }
+        return new PathProjection(nested);
+    }
+
+    /**
+     * Check whether a path can be read from a document parsed with this projection
+     *
+     * @param path the path to check
+     * @return true if the path is at or below one of the projected paths
+     */
+    public boolean covers(String path) {
+        Node node = root;
+        for (String segment : segments(path)) {
+            if (node.leaf) {
+                return true;
+            }
+            node = node.children.get(segment);
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.leaf;
+    }
+
+    /**
+     * Check whether the projection keeps the whole document
+     *
+     * @return true if one of the paths is the root
+     */
+    public boolean isWholeDocument() {
+        return root.leaf;
+    }
+
+    /**
+     * Read the value the parser is positioned on, keeping only the projected paths.
+     * Objects and arrays become {@link LinkedHashMap} and {@link ArrayList}, as when binding to {@code Object}.
+     *
+     * @param parser a parser positioned on the first token of the value, e.g. the root START_OBJECT
+     * @return the projected value
+     * @throws IOException if the document cannot be read
+     */
+    public Object read(JsonParser parser) throws IOException {
+        return read(parser, root);
+    }
+
+    private static Object read(JsonParser parser, Node node) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (node.leaf || token == null || token.isScalarValue()) {
+            return token == JsonToken.VALUE_NULL ? null : MAPPER.readValue(parser, Object.class);
+        }
+        if (token == JsonToken.START_ARRAY) {
+            // Arrays are transparent: every element is matched against the same children
+            List<Object> list = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                list.add(read(parser, node));
+            }
+            return list;
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            Node child = node.children.get(parser.currentName());
+            parser.nextToken();
+            if (child == null) {
+                parser.skipChildren();
+            } else {
+                map.put(parser.currentName(), read(parser, child));
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Get the projected paths, normalized to plain dotted form
+     *
+     * @return the paths
+     */
+    public Set<String> getPaths() {
+        return paths;
+    }
+
+    @Override
+    public String toString() {
+        return paths.toString();
+    }
+
+    private static String[] segments(String path) {
+        if (NOT_DOTTED.matcher(path).find()) {
+            // The root: reading this path may need any part of the document
+            return new String[0];
+        }
+        String dotted = path.replaceAll("\\[[^]]*]", "");
+        if (dotted.startsWith("$")) {
+            dotted = dotted.substring(1);
+        }
+        if (dotted.startsWith(".")) {
+            dotted = dotted.substring(1);
+        }
+        return dotted.isEmpty() ? new String[0] : dotted.split("\\.");
+    }
+
+    /**
+     * A node of the path tree: the fields to keep below it, or all of it if it ends a path
+     */
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private boolean leaf;
+    }
+}
@@ -0,0 +1,39 @@
+package com.myibltest.utils.paths;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the JSON paths a step definition reads from the response, so {@link ScenarioPaths} can
+ * parse only those paths for the scenario. Paths are either fixed, e.g. {@code JsonPaths.EPISODE_TITLE},
+ * or taken from the step's arguments.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ReadsJsonPaths {
+
+    /**
+     * Fixed paths the step reads, normally {@link JsonPaths} constants
+     *
+     * @return the paths
+     */
+    String[] value() default {};
+
+    /**
+     * Positions of step arguments that hold a path the step reads
+     *
+     * @return the zero-based argument positions
+     */
+    int[] arguments() default {};
+
+    /**
+     * Prefix added to argument paths, for steps that take a path relative to a known object
+     *
+     * @return the prefix, e.g. "error."
+     */
+    String argumentPrefix() default "";
+}
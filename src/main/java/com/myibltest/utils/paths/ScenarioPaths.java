@@ -0,0 +1,111 @@
+package com.myibltest.utils.paths;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.Argument;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cucumber plugin collecting the JSON paths each scenario reads, from the {@link ReadsJsonPaths}
+ * annotations of the step definitions its steps match. The paths are gathered before the first
+ * step runs and are available to that scenario's thread through {@link #current()}.
+ * Usage: {@code plugin = "com.myibltest.utils.paths.ScenarioPaths"}
+ */
+public class ScenarioPaths implements ConcurrentEventListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioPaths.class);
+    private static final ThreadLocal<PathProjection> CURRENT = new ThreadLocal<>();
+    private static final Map<String, Optional<ReadsJsonPaths>> ANNOTATIONS = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::collect);
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> CURRENT.remove());
+    }
+
+    /**
+     * Get the paths read by the scenario running on this thread
+     *
+     * @return the projection of those paths, or null if no step declares any
+     */
+    public static PathProjection current() {
+        return CURRENT.get();
+    }
+
+    private void collect(TestCaseStarted event) {
+        Set<String> paths = new LinkedHashSet<>();
+        for (TestStep step : event.getTestCase().getTestSteps()) {
+            if (step instanceof PickleStepTestStep pickleStep) {
+                annotationOf(pickleStep.getCodeLocation()).ifPresent(reads -> addPaths(paths, reads, pickleStep));
+            }
+        }
+        if (paths.isEmpty()) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(PathProjection.of(paths));
+            LOGGER.debug("Scenario '{}' reads {}", event.getTestCase().getName(), paths);
+        }
+    }
+
+    private static void addPaths(Set<String> paths, ReadsJsonPaths reads, PickleStepTestStep step) {
+        paths.addAll(List.of(reads.value()));
+        List<Argument> arguments = step.getDefinitionArgument();
+        for (int position : reads.arguments()) {
+            if (position < arguments.size() && arguments.get(position).getValue() != null) {
+                paths.add(reads.argumentPrefix() + unquote(arguments.get(position).getValue()));
+            }
+        }
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && (value.startsWith("\"") && value.endsWith("\"")
+                || value.startsWith("'") && value.endsWith("'"))) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    /**
+     * Find the annotation of the step definition method at a code location
+     * such as "com.example.Steps.method(java.lang.String)"
+     */
+    private static Optional<ReadsJsonPaths> annotationOf(String codeLocation) {
+        if (codeLocation == null) {
+            return Optional.empty();
+        }
+        return ANNOTATIONS.computeIfAbsent(codeLocation, location -> {
+            int paren = location.indexOf('(');
+            int dot = location.lastIndexOf('.', paren < 0 ? location.length() : paren);
+            if (paren < 0 || dot < 0) {
+                return Optional.empty();
+            }
+            String methodName = location.substring(dot + 1, paren);
+            String parameters = location.substring(paren + 1, location.length() - 1);
+            int parameterCount = parameters.isBlank() ? 0 : parameters.split(",").length;
+            try {
+                Class<?> type = Class.forName(location.substring(0, dot), false,
+                        Thread.currentThread().getContextClassLoader());
+                for (Method method : type.getMethods()) {
+                    if (method.getName().equals(methodName) && method.getParameterCount() == parameterCount) {
+                        return Optional.ofNullable(method.getAnnotation(ReadsJsonPaths.class));
+                    }
+                }
+            } catch (ClassNotFoundException e) {
+                LOGGER.debug("Step definition class not found for {}", location);
+            }
+            return Optional.empty();
+        });
+    }
+}
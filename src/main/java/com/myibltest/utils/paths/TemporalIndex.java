@@ -0,0 +1,291 @@
+package com.myibltest.utils.paths;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.myibltest.utils.IsoTimestamps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-wise copy of the timing fields of "schedule.elements": scheduled and transmission start/end
+ * as epoch milliseconds, duration in seconds and the service (channel) of each element, in primitive
+ * arrays indexed by element position. Built in one streaming pass that decodes timestamps straight
+ * from the parser's text buffer, so timeline checks can run as plain loops over {@code long[]}.
+ * A field that is absent or not a string/number is {@link #MISSING}; an unparseable timestamp is
+ * {@link IsoTimestamps#INVALID}.
+ */
+public final class TemporalIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemporalIndex.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Value of a field the element does not have
+     */
+    public static final long MISSING = Long.MIN_VALUE + 1;
+
+    private final boolean elementsMissing;
+    private final int size;
+    private final long[] scheduledStart;
+    private final long[] scheduledEnd;
+    private final long[] transmissionStart;
+    private final long[] transmissionEnd;
+    private final long[] durationSeconds;
+    private final int[] service;
+    private final List<String> services;
+
+    private TemporalIndex(boolean elementsMissing, Columns columns) {
+        this.elementsMissing = elementsMissing;
+        this.size = columns.size;
+        this.scheduledStart = Arrays.copyOf(columns.scheduledStart, size);
+        this.scheduledEnd = Arrays.copyOf(columns.scheduledEnd, size);
+        this.transmissionStart = Arrays.copyOf(columns.transmissionStart, size);
+        this.transmissionEnd = Arrays.copyOf(columns.transmissionEnd, size);
+        this.durationSeconds = Arrays.copyOf(columns.durationSeconds, size);
+        this.service = Arrays.copyOf(columns.service, size);
+        this.services = List.copyOf(columns.services);
+    }
+
+    /**
+     * Build the index of a JSON document
+     *
+     * @param body the raw JSON document
+     * @return the index; empty and flagged as missing if "schedule.elements" is absent or unreadable
+     */
+    public static TemporalIndex of(byte[] body) {
+        Columns columns = new Columns();
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (!ElementStreamVerifier.moveToElements(parser)) {
+                return new TemporalIndex(true, new Columns());
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                int row = columns.addRow();
+                if (token == JsonToken.START_OBJECT) {
+                    readElement(parser, columns, row);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (token == null) {
+                throw new IOException("Unexpected end of input inside 'schedule.elements'");
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to index response body: {}", e.getMessage());
+            return new TemporalIndex(true, new Columns());
+        }
+        return new TemporalIndex(false, columns);
+    }
+
+    private static void readElement(JsonParser parser, Columns columns, int row) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (name) {
+                case "scheduled_start" -> columns.scheduledStart[row] = timestamp(parser, value);
+                case "scheduled_end" -> columns.scheduledEnd[row] = timestamp(parser, value);
+                case "transmission_start" -> columns.transmissionStart[row] = timestamp(parser, value);
+                case "transmission_end" -> columns.transmissionEnd[row] = timestamp(parser, value);
+                case "duration" -> columns.durationSeconds[row] = duration(parser, value);
+                case "service_id" -> columns.service[row] = service(parser, value, columns);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static long duration(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_NUMBER_INT) {
+            // An object or array must be skipped whole, or its fields would be read as the element's
+            parser.skipChildren();
+            return MISSING;
+        }
+        return parser.getLongValue();
+    }
+
+    private static int service(JsonParser parser, JsonToken value, Columns columns) throws IOException {
+        if (value != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return -1;
+        }
+        return columns.serviceNumber(parser.getText());
+    }
+
+    private static long timestamp(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return MISSING;
+        }
+        return IsoTimestamps.parseEpochMillis(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    /**
+     * Check if "schedule.elements" was absent or the document could not be read
+     *
+     * @return true if the elements were missing
+     */
+    public boolean isElementsMissing() {
+        return elementsMissing;
+    }
+
+    /**
+     * Get the number of elements
+     *
+     * @return the element count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the scheduled start of an element
+     *
+     * @param index the element index
+     * @return epoch milliseconds, {@link #MISSING} or {@link IsoTimestamps#INVALID}
+     */
+    public long getScheduledStart(int index) {
+        return scheduledStart[index];
+    }
+
+    /**
+     * Get the scheduled end of an element
+     *
+     * @param index the element index
+     * @return epoch milliseconds, {@link #MISSING} or {@link IsoTimestamps#INVALID}
+     */
+    public long getScheduledEnd(int index) {
+        return scheduledEnd[index];
+    }
+
+    /**
+     * Get the transmission start of an element
+     *
+     * @param index the element index
+     * @return epoch milliseconds, {@link #MISSING} or {@link IsoTimestamps#INVALID}
+     */
+    public long getTransmissionStart(int index) {
+        return transmissionStart[index];
+    }
+
+    /**
+     * Get the transmission end of an element
+     *
+     * @param index the element index
+     * @return epoch milliseconds, {@link #MISSING} or {@link IsoTimestamps#INVALID}
+     */
+    public long getTransmissionEnd(int index) {
+        return transmissionEnd[index];
+    }
+
+    /**
+     * Get the duration of an element
+     *
+     * @param index the element index
+     * @return the duration in seconds, or {@link #MISSING}
+     */
+    public long getDurationSeconds(int index) {
+        return durationSeconds[index];
+    }
+
+    /**
+     * Get the service (channel) of an element
+     *
+     * @param index the element index
+     * @return the service ID, or null if absent
+     */
+    public String getServiceId(int index) {
+        return service[index] < 0 ? null : services.get(service[index]);
+    }
+
+    /**
+     * Get the distinct services, in order of first appearance
+     *
+     * @return the service IDs
+     */
+    public List<String> getServiceIds() {
+        return services;
+    }
+
+    /**
+     * Check whether a value is a usable timestamp
+     *
+     * @param value a value from one of the timestamp columns
+     * @return true unless the value is missing or invalid
+     */
+    public static boolean isPresent(long value) {
+        return value != MISSING && value != IsoTimestamps.INVALID;
+    }
+
+    // Column access for the analyses in this package, without copying
+
+    long[] scheduledStarts() {
+        return scheduledStart;
+    }
+
+    long[] scheduledEnds() {
+        return scheduledEnd;
+    }
+
+    long[] transmissionStarts() {
+        return transmissionStart;
+    }
+
+    long[] transmissionEnds() {
+        return transmissionEnd;
+    }
+
+    long[] durations() {
+        return durationSeconds;
+    }
+
+    int[] serviceNumbers() {
+        return service;
+    }
+
+    /**
+     * Growable columns used while the document is read
+     */
+    private static final class Columns {
+        private long[] scheduledStart = new long[16];
+        private long[] scheduledEnd = new long[16];
+        private long[] transmissionStart = new long[16];
+        private long[] transmissionEnd = new long[16];
+        private long[] durationSeconds = new long[16];
+        private int[] service = new int[16];
+        private final List<String> services = new ArrayList<>();
+        private final Map<String, Integer> serviceNumbers = new HashMap<>();
+        private int size;
+
+        int addRow() {
+            if (size == service.length) {
+                int capacity = size * 2;
+                scheduledStart = Arrays.copyOf(scheduledStart, capacity);
+                scheduledEnd = Arrays.copyOf(scheduledEnd, capacity);
+                transmissionStart = Arrays.copyOf(transmissionStart, capacity);
+                transmissionEnd = Arrays.copyOf(transmissionEnd, capacity);
+                durationSeconds = Arrays.copyOf(durationSeconds, capacity);
+                service = Arrays.copyOf(service, capacity);
+            }
+            scheduledStart[size] = MISSING;
+            scheduledEnd[size] = MISSING;
+            transmissionStart[size] = MISSING;
+            transmissionEnd[size] = MISSING;
+            durationSeconds[size] = MISSING;
+            service[size] = -1;
+            return size++;
+        }
+
+        int serviceNumber(String serviceId) {
+            return serviceNumbers.computeIfAbsent(serviceId, id -> {
+                services.add(id);
+                return services.size() - 1;
+            });
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.myibltest.utils.paths;
+
+import com.myibltest.config.ConfigManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Timeline checks over a {@link TemporalIndex}: consecutive elements of each service must chain
+ * scheduled end to scheduled start without gaps or overlaps, each "duration" must equal its scheduled
+ * end minus start, and the transmission window must lie inside the scheduled window.
+ * Every check is a single sweep over the primitive columns. For continuity the elements are bucketed
+ * per service with a counting sort, so a week of several interleaved channels stays linear; a service
+ * whose elements are not already in start order is sorted on its own.
+ * Failures are kept like those of an {@link ElementRule}: as (index, code, value), capped at
+ * "verify.failures.retained" and rendered only when a report is requested.
+ */
+public final class TimelineAnalysis {
+    private static final ConfigManager configManager = ConfigManager.getInstance();
+
+    private static final int MISSING_SCHEDULE = 0;
+    private static final int GAP = 1;
+    private static final int OVERLAP = 2;
+    private static final int MISSING_DURATION = 3;
+    private static final int DURATION_MISMATCH = 4;
+    private static final int INVALID_TRANSMISSION = 5;
+    private static final int OUTSIDE_SCHEDULE = 6;
+
+    private final String description;
+    private final TemporalIndex index;
+    private final FailureSink failures;
+
+    private TimelineAnalysis(String description, TemporalIndex index) {
+        this.description = description;
+        this.index = index;
+        this.failures = new FailureSink(configManager.getIntProperty("verify.failures.retained", 100));
+    }
+
+    /**
+     * Check that the elements of each service chain with no gap or overlap between the scheduled end
+     * of one element and the scheduled start of the next
+     *
+     * @param index the temporal index of the response
+     * @param toleranceMillis the largest gap or overlap accepted, in milliseconds
+     * @return the analysis
+     */
+    public static TimelineAnalysis continuity(TemporalIndex index, long toleranceMillis) {
+        TimelineAnalysis analysis = new TimelineAnalysis("Schedule continuity", index);
+        if (!index.isElementsMissing()) {
+            analysis.sweepContinuity(toleranceMillis);
+        }
+        return analysis;
+    }
+
+    /**
+     * Check that every element's "duration" equals its scheduled end minus its scheduled start
+     *
+     * @param index the temporal index of the response
+     * @return the analysis
+     */
+    public static TimelineAnalysis durations(TemporalIndex index) {
+        TimelineAnalysis analysis = new TimelineAnalysis("Element durations", index);
+        long[] starts = index.scheduledStarts();
+        long[] ends = index.scheduledEnds();
+        long[] durations = index.durations();
+        for (int i = 0; i < index.size(); i++) {
+            if (!TemporalIndex.isPresent(starts[i]) || !TemporalIndex.isPresent(ends[i])) {
+                analysis.failures.add(i, MISSING_SCHEDULE, null);
+            } else if (durations[i] == TemporalIndex.MISSING) {
+                analysis.failures.add(i, MISSING_DURATION, null);
+            } else if (ends[i] - starts[i] != durations[i] * 1000) {
+                analysis.failures.add(i, DURATION_MISMATCH, null);
+            }
+        }
+        return analysis;
+    }
+
+    /**
+     * Check that every transmission window lies inside its scheduled window.
+     * Elements without transmission times are ignored.
+     *
+     * @param index the temporal index of the response
+     * @return the analysis
+     */
+    public static TimelineAnalysis transmissionWithinSchedule(TemporalIndex index) {
+        TimelineAnalysis analysis = new TimelineAnalysis("Transmission windows", index);
+        long[] starts = index.scheduledStarts();
+        long[] ends = index.scheduledEnds();
+        long[] transmissionStarts = index.transmissionStarts();
+        long[] transmissionEnds = index.transmissionEnds();
+        for (int i = 0; i < index.size(); i++) {
+            long transmissionStart = transmissionStarts[i];
+            long transmissionEnd = transmissionEnds[i];
+            if (transmissionStart == TemporalIndex.MISSING && transmissionEnd == TemporalIndex.MISSING) {
+                continue;
+            }
+            if (!TemporalIndex.isPresent(transmissionStart) || !TemporalIndex.isPresent(transmissionEnd)) {
+                analysis.failures.add(i, INVALID_TRANSMISSION, null);
+            } else if (!TemporalIndex.isPresent(starts[i]) || !TemporalIndex.isPresent(ends[i])) {
+                analysis.failures.add(i, MISSING_SCHEDULE, null);
+            } else if (transmissionStart < starts[i] || transmissionEnd > ends[i]) {
+                analysis.failures.add(i, OUTSIDE_SCHEDULE, null);
+            }
+        }
+        return analysis;
+    }
+
+    private void sweepContinuity(long toleranceMillis) {
+        long[] starts = index.scheduledStarts();
+        long[] ends = index.scheduledEnds();
+        int[] serviceNumbers = index.serviceNumbers();
+        int size = index.size();
+        // Elements without a service share the last bucket
+        int buckets = index.getServiceIds().size() + 1;
+
+        int[] bucketStart = new int[buckets + 1];
+        for (int i = 0; i < size; i++) {
+            if (TemporalIndex.isPresent(starts[i]) && TemporalIndex.isPresent(ends[i])) {
+                bucketStart[bucket(serviceNumbers[i], buckets) + 1]++;
+            }
+        }
+        for (int b = 0; b < buckets; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        int[] order = new int[bucketStart[buckets]];
+        int[] next = Arrays.copyOf(bucketStart, buckets);
+        for (int i = 0; i < size; i++) {
+            if (TemporalIndex.isPresent(starts[i]) && TemporalIndex.isPresent(ends[i])) {
+                order[next[bucket(serviceNumbers[i], buckets)]++] = i;
+            }
+        }
+
+        // Buckets are swept in service order, so each element's outcome is kept by index and the
+        // failures are reported in element order afterwards; the sink's cap then keeps the earliest
+        byte[] outcomes = new byte[size];
+        int[] previousElements = new int[size];
+        for (int b = 0; b < buckets; b++) {
+            sortByStart(order, bucketStart[b], bucketStart[b + 1], starts);
+            for (int k = bucketStart[b] + 1; k < bucketStart[b + 1]; k++) {
+                int previous = order[k - 1];
+                int current = order[k];
+                long difference = starts[current] - ends[previous];
+                if (difference > toleranceMillis) {
+                    outcomes[current] = GAP;
+                } else if (-difference > toleranceMillis) {
+                    outcomes[current] = OVERLAP;
+                }
+                previousElements[current] = previous;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (!TemporalIndex.isPresent(starts[i]) || !TemporalIndex.isPresent(ends[i])) {
+                failures.add(i, MISSING_SCHEDULE, null);
+            } else if (outcomes[i] != 0) {
+                failures.add(i, outcomes[i], previousElements[i]);
+            }
+        }
+    }
+
+    private static int bucket(int serviceNumber, int buckets) {
+        return serviceNumber < 0 ? buckets - 1 : serviceNumber;
+    }
+
+    private static void sortByStart(int[] order, int from, int to, long[] starts) {
+        boolean sorted = true;
+        for (int k = from + 1; k < to && sorted; k++) {
+            sorted = starts[order[k - 1]] <= starts[order[k]];
+        }
+        if (sorted) {
+            return;
+        }
+        Integer[] range = new Integer[to - from];
+        for (int k = from; k < to; k++) {
+            range[k - from] = order[k];
+        }
+        // Stable, so elements sharing a start keep their document order
+        Arrays.sort(range, (a, b) -> Long.compare(starts[a], starts[b]));
+        for (int k = from; k < to; k++) {
+            order[k] = range[k - from];
+        }
+    }
+
+    private String render(int element, int code, Object value) {
+        String service = index.getServiceId(element);
+        return switch (code) {
+            case MISSING_SCHEDULE -> String.format("Element at index %d has no valid scheduled start and end", element);
+            case GAP, OVERLAP -> {
+                int previous = (Integer) value;
+                long difference = Math.abs(index.getScheduledStart(element) - index.getScheduledEnd(previous));
+                yield String.format("Element at index %d on %s starts at %s, %s %s element at index %d ends",
+                        element, service, Instant.ofEpochMilli(index.getScheduledStart(element)),
+                        Duration.ofMillis(difference), code == GAP ? "after" : "before", previous);
+            }
+            case MISSING_DURATION -> String.format("Element at index %d has no duration", element);
+            case DURATION_MISMATCH -> String.format("Element at index %d has duration %s but is scheduled for %s",
+                    element, Duration.ofSeconds(index.getDurationSeconds(element)),
+                    Duration.ofMillis(index.getScheduledEnd(element) - index.getScheduledStart(element)));
+            case INVALID_TRANSMISSION -> String.format("Element at index %d has an incomplete or invalid transmission window",
+                    element);
+            default -> String.format("Element at index %d transmits %s to %s outside its schedule %s to %s",
+                    element, Instant.ofEpochMilli(index.getTransmissionStart(element)),
+                    Instant.ofEpochMilli(index.getTransmissionEnd(element)),
+                    Instant.ofEpochMilli(index.getScheduledStart(element)),
+                    Instant.ofEpochMilli(index.getScheduledEnd(element)));
+        };
+    }
+
+    /**
+     * Check if the timeline passed
+     *
+     * @return true if "schedule.elements" was present and no failure was found
+     */
+    public boolean isValid() {
+        return !index.isElementsMissing() && failures.total() == 0;
+    }
+
+    /**
+     * Check if the analysis failed because "schedule.elements" was missing
+     *
+     * @return true if "schedule.elements" was absent or unreadable
+     */
+    public boolean isElementsMissing() {
+        return index.isElementsMissing();
+    }
+
+    /**
+     * Get the total number of failures, including those not retained
+     *
+     * @return the failure count
+     */
+    public long getFailureCount() {
+        return failures.total();
+    }
+
+    /**
+     * Render the retained failure messages, in element order. When failures were dropped
+     * a final line gives the number not shown.
+     *
+     * @return the failure messages
+     */
+    public List<String> getFailures() {
+        List<String> messages = new ArrayList<>(failures.retained() + 1);
+        for (int i = 0; i < failures.retained(); i++) {
+            messages.add(render(failures.indexAt(i), failures.codeAt(i), failures.valueAt(i)));
+        }
+        long dropped = failures.total() - failures.retained();
+        if (dropped > 0) {
+            messages.add("... and " + dropped + " more");
+        }
+        return messages;
+    }
+
+    /**
+     * Get the analysis description
+     *
+     * @return the description
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -6,6 +6,7 @@ import io.cucumber.junit.CucumberOptions;
 
 /**
  * Cucumber test runner
+ * Scenarios run serially by default; use the "parallel" Maven profile to run them concurrently
  */
 @RunWith(Cucumber.class)
 @CucumberOptions(
@@ -15,9 +16,14 @@ import io.cucumber.junit.CucumberOptions;
                 "pretty",
                 "json:target/cucumber-reports/cucumber.json",
                 "html:target/cucumber-reports/cucumber.html",
-                "junit:target/cucumber-reports/cucumber.xml"
+                "junit:target/cucumber-reports/cucumber.xml",
+                "com.myibltest.reporting.ExecutionTimingReport:target/cucumber-reports/execution-timing.json",
+                "com.myibltest.utils.paths.ScenarioPaths",
+                "com.myibltest.metrics.MetricsReport"
         },
         monochrome = true,
+        // Load scenarios are opt-in: -Dcucumber.filter.tags="@load"
+        tags = "not @load",
         // tags = "@smoke" // Uncomment to run only smoke tests
         dryRun = false
 )
@@ -1,6 +1,27 @@
 package com.myibltest.stepdef;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myibltest.baseline.BaselineComparison;
+import com.myibltest.baseline.PerformanceBaseline;
+import com.myibltest.baseline.RunSamples;
+import com.myibltest.constants.ApiEndpoints;
+import com.myibltest.load.FanOutFetcher;
+import com.myibltest.load.FanOutResult;
+import com.myibltest.load.FetchPlan;
+import com.myibltest.load.LoadGenerator;
+import com.myibltest.load.LoadProfile;
+import com.myibltest.load.LoadResult;
+import com.myibltest.metrics.LatencyRecorder;
+import com.myibltest.metrics.PhaseTimingSummary;
+import com.myibltest.stub.StubServer;
+import com.myibltest.utils.paths.ElementRule;
+import com.myibltest.utils.paths.ElementStreamVerifier;
 import com.myibltest.utils.paths.ElementVerification;
+import com.myibltest.utils.paths.PathProjection;
+import com.myibltest.utils.paths.ReadsJsonPaths;
+import com.myibltest.utils.paths.ScenarioPaths;
+import com.myibltest.utils.paths.TimelineAnalysis;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.When;
@@ -10,35 +31,55 @@ import io.cucumber.java.After;
 import io.cucumber.java.Scenario;
 import io.restassured.response.Response;
 import org.junit.Assert;
+import org.junit.Assume;
 
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeParseException;
-
+import com.myibltest.utils.AsyncHttpEngine;
+import com.myibltest.utils.HttpConnectionPool;
+import com.myibltest.utils.PhaseTimings;
+import com.myibltest.utils.ResponseCache;
 import com.myibltest.utils.RestAssuredUtils;
 import com.myibltest.utils.ResponseUtils;
 import com.myibltest.reporting.ReportManager;
 import com.myibltest.config.ConfigManager;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-
-import static com.myibltest.utils.paths.JsonPaths.SCHEDULE_ELEMENTS;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Step definitions for API testing
  */
 public class ApiStepDef {
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final Pattern PERCENTILE = Pattern.compile("(?i)p(\\d+(?:\\.\\d+)?)|max");
 
     private RestAssuredUtils restUtils;
     private Response response;
     private ResponseUtils responseUtils;
     private Scenario scenario;
     private ConfigManager configManager;
-    private ElementVerification elementVerification = new ElementVerification();
+    private LoadResult loadResult;
+    private FanOutResult fanOutResult;
+    private List<ResponseUtils> concurrentResponses;
+    private final List<ResponseUtils> timedResponses = new ArrayList<>();
+    private LatencyRecorder latencyRecorder;
+    private String latencyEndpoint;
+    private PathProjection projection;
 
 
     /**
@@ -49,15 +90,34 @@ public class ApiStepDef {
     public void setup(Scenario scenario) {
         this.scenario = scenario;
         this.configManager = ConfigManager.getInstance();
+        this.latencyRecorder = new LatencyRecorder();
+        this.projection = configManager.getBooleanProperty("json.projection.enabled", false)
+                ? ScenarioPaths.current() : null;
+        if (configManager.getBooleanProperty("api.stub.enabled", false)) {
+            configManager.setProperty("api.base.url", StubServer.getInstance().getBaseUrl());
+        }
         ReportManager.logStep("Starting scenario: " + scenario.getName());
     }
 
     /**
-     * Set the API base URL
+     * Skip scenarios tagged @stub unless the stub server is enabled. Their assertions hold for the
+     * recorded responses but have not been checked against the live API's data.
+     */
+    @Before(value = "@stub", order = 20000)
+    public void requireStub() {
+        Assume.assumeTrue("Scenario runs against the stub server only (-Dapi.stub.enabled=true)",
+                ConfigManager.getInstance().getBooleanProperty("api.stub.enabled", false));
+    }
+
+    /**
+     * Set the API base URL. When the stub server is enabled, its URL is used instead.
      * @param baseUrl the base URL for API requests
      */
     @Given("the API base URL is set to {string}")
     public void setApiBaseUrl(String baseUrl) {
+        if (configManager.getBooleanProperty("api.stub.enabled", false)) {
+            baseUrl = configManager.getProperty("api.base.url");
+        }
         restUtils = new RestAssuredUtils(baseUrl);
         ReportManager.logStep("API base URL set to: " + baseUrl);
     }
@@ -69,9 +129,176 @@ public class ApiStepDef {
     @When("I send a GET request to endpoint {string}")
     public void sendGetRequest(String endpoint) {
         ReportManager.logRequest("GET", restUtils.getBaseUrl() + endpoint);
-        response = restUtils.get(endpoint);
-        responseUtils = new ResponseUtils(response);
-        ReportManager.logResponse(response);
+        long start = System.nanoTime();
+        responseUtils = get(endpoint);
+        latencyRecorder.record(endpoint, System.nanoTime() - start);
+        latencyEndpoint = endpoint;
+        response = responseUtils.getResponse();
+        responseUtils.setProjection(projection);
+        ReportManager.logResponse(response, responseUtils.getResponseTime());
+    }
+
+    /**
+     * Send a GET request and wait for the response, through the engine selected by "http.engine"
+     * @param endpoint the API endpoint
+     * @return the response
+     */
+    private ResponseUtils get(String endpoint) {
+        ResponseUtils result = isAsyncEngine()
+                ? AsyncHttpEngine.getInstance().get(restUtils.getBaseUrl(), endpoint).join()
+                : timed(restUtils, restUtils.get(endpoint));
+        result.setEndpoint(endpoint);
+        timedResponses.add(result);
+        return result;
+    }
+
+    /**
+     * Wrap a response with its phase timings. A response served from the cache has no time of its own
+     * (REST Assured reports -1), so it is given the time the client measured for the cache lookup or
+     * revalidation instead; a response from the network keeps the time REST Assured measured.
+     * @param client the client that sent the request
+     * @param response the response
+     * @return the response with its time and phase timings
+     */
+    private static ResponseUtils timed(RestAssuredUtils client, Response response) {
+        PhaseTimings timings = client.getLastTimings();
+        long responseTimeMillis = response.getTime() >= 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(timings.getTotalNanos());
+        return new ResponseUtils(response, responseTimeMillis, timings);
+    }
+
+    private boolean isAsyncEngine() {
+        return "async".equalsIgnoreCase(configManager.getProperty("http.engine").trim());
+    }
+
+    /**
+     * Send GET requests to an endpoint all at once and wait for every response, through the engine selected
+     * by "http.engine". The blocking engine needs a thread per request in flight; the async engine sends them
+     * all from this thread. Throughput and the peak number of live threads are reported for comparison.
+     * @param count the number of requests
+     * @param endpoint the API endpoint
+     */
+    @When("I send {int} concurrent GET requests to endpoint {string}")
+    public void sendConcurrentGetRequests(int count, String endpoint) {
+        String engine = isAsyncEngine() ? "async" : "blocking";
+        ReportManager.logRequest("GET", restUtils.getBaseUrl() + endpoint + " x" + count + " concurrently (" + engine + ")");
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        long start = System.nanoTime();
+        if (isAsyncEngine()) {
+            concurrentResponses = AsyncHttpEngine.getInstance()
+                    .getAll(restUtils.getBaseUrl(), Collections.nCopies(count, endpoint)).join();
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(count);
+            try {
+                List<Future<ResponseUtils>> futures = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    futures.add(executor.submit(() -> {
+                        RestAssuredUtils client = new RestAssuredUtils(restUtils.getBaseUrl());
+                        ResponseUtils result = timed(client, client.get(endpoint));
+                        result.setEndpoint(endpoint);
+                        return result;
+                    }));
+                }
+                concurrentResponses = new ArrayList<>(count);
+                for (Future<ResponseUtils> future : futures) {
+                    concurrentResponses.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for concurrent requests", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Concurrent request failed: " + e.getCause().getMessage(), e.getCause());
+            } finally {
+                executor.shutdown();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        timedResponses.addAll(concurrentResponses);
+        responseUtils = concurrentResponses.get(concurrentResponses.size() - 1);
+        response = responseUtils.getResponse();
+        ReportManager.logStepResult("Concurrent GET x" + count + " (" + engine + ")", String.format(
+                "%.1f ms, %.1f rps, peak live threads %d", elapsedNanos / 1e6, count * 1e9 / elapsedNanos,
+                threads.getPeakThreadCount()));
+    }
+
+    /**
+     * Verify the status code of every response to the concurrent requests
+     * @param expectedStatusCode the expected status code
+     */
+    @Then("every concurrent response should have status code {int}")
+    public void verifyConcurrentStatusCodes(int expectedStatusCode) {
+        long matching = concurrentResponses.stream().filter(r -> r.getStatusCode() == expectedStatusCode).count();
+        ReportManager.logAssertion("Concurrent responses with status " + expectedStatusCode, concurrentResponses.size(), matching);
+        Assert.assertEquals("Concurrent responses with status " + expectedStatusCode, concurrentResponses.size(), matching);
+    }
+
+    /**
+     * Send GET requests to an endpoint back to back, recording the latency of each
+     * @param count the number of requests
+     * @param endpoint the API endpoint
+     */
+    @When("I send {int} GET requests to endpoint {string}")
+    public void sendRepeatedGetRequests(int count, String endpoint) {
+        sendPacedGetRequests(count, endpoint, 0);
+    }
+
+    /**
+     * Send GET requests to an endpoint at a fixed interval, recording the latency of each.
+     * A request that overruns the interval delays the ones after it, so the latencies those
+     * requests would have seen are back-filled into the histogram (coordinated omission correction).
+     * @param count the number of requests
+     * @param endpoint the API endpoint
+     * @param intervalMs the interval between request start times in milliseconds
+     */
+    @When("I send {int} GET requests to endpoint {string} every {int} milliseconds")
+    public void sendPacedGetRequests(int count, String endpoint, int intervalMs) {
+        ReportManager.logRequest("GET", restUtils.getBaseUrl() + endpoint + " x" + count);
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        long nextStart = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            long wait = nextStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long start = System.nanoTime();
+            responseUtils = get(endpoint);
+            long latency = System.nanoTime() - start;
+            if (intervalNanos > 0) {
+                latencyRecorder.record(endpoint, latency, intervalNanos);
+            } else {
+                latencyRecorder.record(endpoint, latency);
+            }
+            // after an overrun, carry on from now rather than bursting to catch up: the skipped
+            // sends are accounted for by the back-filled samples
+            nextStart = Math.max(nextStart + intervalNanos, System.nanoTime());
+        }
+        latencyEndpoint = endpoint;
+        response = responseUtils.getResponse();
+        responseUtils.setProjection(projection);
+        ReportManager.logResponse(response, responseUtils.getResponseTime());
+    }
+
+    /**
+     * Verify a latency percentile over every request sent to the last endpoint
+     * @param percentile "p50", "p95", "p99", "p99.9" or "max"
+     * @param maxMillis the maximum acceptable latency in milliseconds
+     */
+    @Then("the {word} response time should be less than {int} milliseconds")
+    public void verifyResponseTimePercentile(String percentile, int maxMillis) {
+        Matcher matcher = PERCENTILE.matcher(percentile);
+        Assert.assertTrue("Unknown percentile '" + percentile + "', expected pN (e.g. p50, p99.9) or max",
+                matcher.matches());
+        double value = matcher.group(1) == null ? 100 : Double.parseDouble(matcher.group(1));
+        Assert.assertTrue("Percentile " + percentile + " is above p100", value <= 100);
+        Assert.assertNotNull("No request has been sent, so there is no " + percentile + " response time to check",
+                latencyEndpoint);
+        long samples = latencyRecorder.getCount(latencyEndpoint);
+        Assert.assertTrue("No response times recorded for " + latencyEndpoint, samples > 0);
+        double actualMillis = latencyRecorder.getPercentileMillis(latencyEndpoint, value);
+        ReportManager.logAssertion(percentile + " Response Time (" + samples + " samples)",
+                "< " + maxMillis + " ms", actualMillis + " ms");
+        Assert.assertTrue(percentile + " response time " + actualMillis + " ms over " + samples +
+                " samples exceeds maximum " + maxMillis + " ms", actualMillis < maxMillis);
     }
 
     /**
@@ -79,8 +306,7 @@ public class ApiStepDef {
      */
     @Then("every elements ID field should not be null or empty")
     public void verifyElementsIdIsNotNullOrEmpty() {
-        List<Map<String, Object>> elements = responseUtils.getResponse().jsonPath().getList(SCHEDULE_ELEMENTS);
-        boolean allIdsValid = elementVerification.verifyElementIds(elements);
+        boolean allIdsValid = verifyElements(ElementVerification.elementIdRule());
         Assert.assertTrue("All elements should have non-null and non-empty ID fields", allIdsValid);
     }
 
@@ -90,15 +316,7 @@ public class ApiStepDef {
      */
     @And("every item should have episode type as {string}")
     public void verifyEveryItemHasEpisodeTypeAs(String expectedType) {
-        List<Map<String, Object>> elements = responseUtils.getResponse().jsonPath().getList(SCHEDULE_ELEMENTS);
-        boolean allTypesValid = true;
-        for (Map<String, Object> element : elements) {
-            Map<String, Object> episode = (Map<String, Object>) element.get("episode");
-            if (episode == null || !expectedType.equals(episode.get("type"))) {
-                allTypesValid = false;
-                break;
-            }
-        }
+        boolean allTypesValid = verifyElements(ElementVerification.episodeTypeRule(expectedType));
         Assert.assertTrue("Every item should have episode type as '" + expectedType + "'", allTypesValid);
     }
 
@@ -107,8 +325,7 @@ public class ApiStepDef {
      */
     @Then("every items episode title should not be null or empty")
     public void verifyEveryItemsEpisodeTitleIsNotNullOrEmpty() {
-        List<Map<String, Object>> elements = responseUtils.getResponse().jsonPath().getList(SCHEDULE_ELEMENTS);
-        boolean allTitlesValid = elementVerification.verifyEpisodeTitles(elements);
+        boolean allTitlesValid = verifyElements(ElementVerification.episodeTitleRule());
         Assert.assertTrue("Every item's episode title should not be null or empty", allTitlesValid);
     }
 
@@ -117,20 +334,11 @@ public class ApiStepDef {
      */
     @Then("only one episode should have live field set to {string}")
     public void verifyOnlyOneEpisodeShouldHaveLiveFieldTo(String liveValue) {
-        List<Map<String, Object>> elements = responseUtils.getResponse().jsonPath().getList(SCHEDULE_ELEMENTS);
         boolean isLiveExpected = Boolean.parseBoolean(liveValue);
-        int liveCount = 0;
-        for (Map<String, Object> element : elements) {
-            Map<String, Object> episode = (Map<String, Object>) element.get("episode");
-            if (episode != null) {
-                Boolean live = (Boolean) episode.get("live");
-                if (Boolean.TRUE.equals(live)) {
-                    liveCount++;
-                }
-            }
-        }
         int expectedLiveCount = isLiveExpected ? 1 : 0;
-        Assert.assertEquals("Incorrect number of live episodes found", expectedLiveCount, liveCount);
+        ElementRule liveRule = ElementVerification.liveEpisodeCountRule(expectedLiveCount);
+        boolean liveCountValid = verifyElements(liveRule);
+        Assert.assertTrue("Incorrect number of live episodes found: " + liveRule.getInvalidElements(), liveCountValid);
     }
 
     /**
@@ -138,35 +346,164 @@ public class ApiStepDef {
      */
     @Then("transmission start date should be before transmission end date for all items")
     public void verifyTransmissionStartBeforeEnd() {
-        List<Map<String, Object>> elements = responseUtils.getResponse().jsonPath().getList(SCHEDULE_ELEMENTS);
-        List<String> invalidElements = new ArrayList<>();
+        ElementRule transmissionRule = ElementVerification.transmissionStartBeforeEndRule();
+        if (!verifyElements(transmissionRule)) {
+            Assert.fail("Invalid transmission dates:\n" + String.join("\n", transmissionRule.getInvalidElements()));
+        }
+    }
 
-        for (int i = 0; i < elements.size(); i++) {
-            Map<String, Object> element = elements.get(i);
-            String startStr = (String) element.get("transmission_start");
-            String endStr = (String) element.get("transmission_end");
+    /**
+     * Verify the elements of each service follow on from each other with no gap or overlap
+     */
+    @Then("the schedule timeline should have no gaps or overlaps")
+    public void verifyScheduleTimelineIsContinuous() {
+        assertTimeline(TimelineAnalysis.continuity(responseUtils.getTemporalIndex(), 0));
+    }
 
-            if (startStr == null || endStr == null) {
-                invalidElements.add(String.format("Element at index %d is missing start or end date", i));
-                continue;
-            }
+    /**
+     * Verify the elements of each service follow on from each other, allowing small gaps or overlaps
+     * @param toleranceSeconds the largest gap or overlap accepted, in seconds
+     */
+    @Then("the schedule timeline should have no gaps or overlaps over {int} seconds")
+    public void verifyScheduleTimelineIsContinuousWithin(int toleranceSeconds) {
+        assertTimeline(TimelineAnalysis.continuity(responseUtils.getTemporalIndex(), toleranceSeconds * 1000L));
+    }
 
-            try {
-                OffsetDateTime start = OffsetDateTime.parse(startStr);
-                OffsetDateTime end = OffsetDateTime.parse(endStr);
-                if (!start.isBefore(end)) {
-                    invalidElements.add(String.format("Element at index %d: start [%s] is not before end [%s]", i, start, end));
-                }
-            } catch (DateTimeParseException e) {
-                invalidElements.add(String.format("Element at index %d has invalid date format", i));
-            }
-        }
+    /**
+     * Verify every element's duration matches its scheduled start and end
+     */
+    @Then("every element duration should match its scheduled start and end")
+    public void verifyElementDurations() {
+        assertTimeline(TimelineAnalysis.durations(responseUtils.getTemporalIndex()));
+    }
 
-        if (!invalidElements.isEmpty()) {
-            Assert.fail("Invalid transmission dates:\n" + String.join("\n", invalidElements));
+    /**
+     * Verify every transmission window lies inside its scheduled window
+     */
+    @Then("every transmission should be within its scheduled window")
+    public void verifyTransmissionWithinSchedule() {
+        assertTimeline(TimelineAnalysis.transmissionWithinSchedule(responseUtils.getTemporalIndex()));
+    }
+
+    /**
+     * Fail the step with the rendered failures of a timeline analysis
+     * @param analysis the analysis to check
+     */
+    private void assertTimeline(TimelineAnalysis analysis) {
+        Assert.assertFalse("'schedule.elements' is null.", analysis.isElementsMissing());
+        if (!analysis.isValid()) {
+            Assert.fail(analysis.getDescription() + " failed for " + analysis.getFailureCount() + " elements:\n"
+                    + String.join("\n", analysis.getFailures()));
         }
     }
 
+    /**
+     * Stream "schedule.elements" of the current response once, applying every given rule in the same pass
+     * @param rules the rules to apply
+     * @return true if every rule passed, false otherwise
+     */
+    private boolean verifyElements(ElementRule... rules) {
+        return responseUtils.verifyElements(new ElementStreamVerifier().registerAll(List.of(rules)));
+    }
+
+
+    /**
+     * Send GET requests to the IBL test endpoint at a constant rate
+     * @param requestsPerSecond the target request rate
+     * @param seconds how long to hold the target rate
+     */
+    @When("I send {int} GET requests per second for {int} seconds")
+    public void sendGetRequestsPerSecond(int requestsPerSecond, int seconds) {
+        sendGetRequestsPerSecondToEndpoint(requestsPerSecond, ApiEndpoints.IBL_TEST, seconds);
+    }
+
+    /**
+     * Send GET requests to an endpoint at a target rate, with ramps taken from configuration
+     * @param requestsPerSecond the target request rate
+     * @param endpoint the API endpoint
+     * @param seconds how long to hold the target rate
+     */
+    @When("I send {int} GET requests per second to endpoint {string} for {int} seconds")
+    public void sendGetRequestsPerSecondToEndpoint(int requestsPerSecond, String endpoint, int seconds) {
+        String baseUrl = restUtils != null ? restUtils.getBaseUrl() : configManager.getProperty("api.base.url");
+        LoadProfile profile = new LoadProfile(requestsPerSecond,
+                Duration.ofSeconds(configManager.getIntProperty("load.rampup.seconds", 0)),
+                Duration.ofSeconds(seconds),
+                Duration.ofSeconds(configManager.getIntProperty("load.rampdown.seconds", 0)));
+
+        loadResult = new LoadGenerator(baseUrl, endpoint)
+                .verifySampled(configManager.getIntProperty("load.verify.sample.every", 10), ElementVerification::scheduleRules)
+                .recordLatencies(latencyRecorder)
+                .run(profile);
+        latencyEndpoint = endpoint;
+        ReportManager.logStepResult("Load run against " + endpoint, loadResult.toString());
+    }
+
+    /**
+     * Verify the share of load requests that returned a status code
+     * @param percent the minimum percentage of requests
+     * @param expectedStatusCode the expected status code
+     */
+    @Then("at least {int} percent of load requests should return status code {int}")
+    public void verifyLoadStatusCodeShare(int percent, int expectedStatusCode) {
+        long matching = loadResult.getStatusCount(expectedStatusCode);
+        double actualPercent = loadResult.getSent() == 0 ? 0 : matching * 100.0 / loadResult.getSent();
+        ReportManager.logAssertion("Load requests with status " + expectedStatusCode, ">= " + percent + "%", actualPercent + "%");
+        Assert.assertTrue("Only " + actualPercent + "% of load requests returned " + expectedStatusCode,
+                actualPercent >= percent);
+    }
+
+    /**
+     * Verify that every sampled load response passed the element verification rules
+     */
+    @Then("every sampled load response should pass element verification")
+    public void verifySampledLoadResponses() {
+        ReportManager.logAssertion("Sampled load responses failing verification", 0, loadResult.getVerificationFailures());
+        Assert.assertEquals("Sampled load responses failed element verification", 0, loadResult.getVerificationFailures());
+    }
+
+    /**
+     * Fetch an endpoint template for every date in a range and every channel, verifying each response as it arrives
+     * @param template the endpoint template, with "{date}" and "{channel}" placeholders
+     * @param from the first date (yyyy-MM-dd)
+     * @param to the last date (yyyy-MM-dd)
+     * @param channels comma-separated channel IDs
+     */
+    @When("I fetch {string} for every date from {string} to {string} on channels {string}")
+    public void fetchForDatesAndChannels(String template, String from, String to, String channels) {
+        FetchPlan plan = new FetchPlan(List.of(template))
+                .dates(LocalDate.parse(from), LocalDate.parse(to))
+                .channels(Arrays.stream(channels.split(",")).map(String::trim).filter(c -> !c.isEmpty()).toList());
+        String baseUrl = restUtils != null ? restUtils.getBaseUrl() : configManager.getProperty("api.base.url");
+        fanOutResult = new FanOutFetcher(baseUrl)
+                .verify(ElementVerification::scheduleRules)
+                .recordLatencies(latencyRecorder)
+                .run(plan);
+        latencyEndpoint = template;
+        ReportManager.logStepResult("Fan-out of " + template, fanOutResult.toString());
+    }
+
+    /**
+     * Verify that every fan-out request ended with a status code
+     * @param expectedStatusCode the expected status code
+     */
+    @Then("every fan-out request should return status code {int}")
+    public void verifyFanOutStatusCodes(int expectedStatusCode) {
+        long matching = fanOutResult.getStatusCount(expectedStatusCode);
+        ReportManager.logAssertion("Fan-out requests with status " + expectedStatusCode, fanOutResult.getPlanned(), matching);
+        Assert.assertEquals("Fan-out requests did not all return " + expectedStatusCode + ": " +
+                fanOutResult.getFailures(), fanOutResult.getPlanned(), matching);
+    }
+
+    /**
+     * Verify that every fan-out response passed the element verification rules
+     */
+    @Then("every fan-out response should pass element verification")
+    public void verifyFanOutResponses() {
+        ReportManager.logAssertion("Fan-out responses failing verification", 0, fanOutResult.getVerificationFailures());
+        Assert.assertEquals("Fan-out responses failed element verification: " + fanOutResult.getFailures(),
+                0, fanOutResult.getVerificationFailures());
+    }
 
     /**
      * Verify the response headers contain a specific header
@@ -186,6 +523,7 @@ public class ApiStepDef {
      * @param property2 second property name
      */
     @And("the error object should have properties {string} and {string}")
+    @ReadsJsonPaths(arguments = {0, 1}, argumentPrefix = "error.")
     public void verifyErrorObjectHasProperties(String property1, String property2) {
         boolean hasProperty1 = responseUtils.hasJsonPath("error." + property1);
         boolean hasProperty2 = responseUtils.hasJsonPath("error." + property2);
@@ -200,11 +538,75 @@ public class ApiStepDef {
     //Cleanup after each scenario
     @After
     public void tearDown() {
+        if (responseUtils != null) {
+            ReportManager.logStep("Response body parsed " + responseUtils.getParseCount() + " time(s) in " +
+                    responseUtils.getParseTimeNanos() / 1000 + " us");
+        }
+        latencyRecorder.writeTo(Path.of("target", "latency"), scenario.getName());
+        HttpConnectionPool pool = HttpConnectionPool.getInstance();
+        ReportManager.logStep("HTTP connections opened: " + pool.getConnectionsOpened() +
+                ", reused: " + pool.getConnectionsReused());
+        ResponseCache cache = ResponseCache.getInstance();
+        if (cache.isEnabled()) {
+            ReportManager.logStep("Response cache (" + cache.getMode() + ") hits: " + cache.getHits() +
+                    ", misses: " + cache.getMisses() + ", revalidated: " + cache.getRevalidations());
+        }
+        attachPhaseTimings();
+        List<BaselineComparison> regressions = checkBaseline();
         ReportManager.logStep("Completed scenario: " + scenario.getName() +
                 " with status: " + scenario.getStatus());
+        ReportManager.flush();
+        if (!regressions.isEmpty() && PerformanceBaseline.getInstance().isFailOnRegression()) {
+            Assert.fail("Performance regressed against the baseline: " + regressions);
+        }
+    }
+
+    /**
+     * Compare the scenario's requests with its previous runs and store them for the next ones.
+     * A failed scenario is neither compared nor stored, so errors do not skew the baseline.
+     * @return the comparisons that found a regression
+     */
+    private List<BaselineComparison> checkBaseline() {
+        Map<String, RunSamples.Samples> samples = RunSamples.getInstance().take(scenario.getName());
+        PerformanceBaseline baseline = PerformanceBaseline.getInstance();
+        List<BaselineComparison> regressions = new ArrayList<>();
+        if (!baseline.isEnabled() || samples.isEmpty() || scenario.isFailed()) {
+            return regressions;
+        }
+        String environment = configManager.getBooleanProperty("api.stub.enabled", false)
+                ? "stub" : restUtils != null ? restUtils.getBaseUrl() : configManager.getProperty("api.base.url");
+        for (BaselineComparison comparison : baseline.check(environment, scenario.getName(), samples)) {
+            if (comparison.isRegressed()) {
+                regressions.add(comparison);
+                ReportManager.logFailure("Baseline: " + comparison);
+            } else if (comparison.verdict() == BaselineComparison.Verdict.OK) {
+                ReportManager.logStep("Baseline: " + comparison);
+            }
+        }
+        return regressions;
     }
 
 
+    /**
+     * Summarise the phase timings of the scenario's requests, parse time included, in the log and as a
+     * "phase-timings" JSON attachment in the Cucumber report
+     */
+    private void attachPhaseTimings() {
+        if (timedResponses.isEmpty()) {
+            return;
+        }
+        PhaseTimingSummary summary = new PhaseTimingSummary();
+        for (ResponseUtils timed : timedResponses) {
+            summary.add(timed.getTimings());
+        }
+        ReportManager.logStep("Request phases: " + summary);
+        try {
+            scenario.attach(JSON_MAPPER.writeValueAsString(summary.toMap()), "application/json", "phase-timings");
+        } catch (JsonProcessingException e) {
+            ReportManager.logFailure("Could not attach phase timings: " + e.getMessage());
+        }
+    }
+
     /**
      * Verify the response status code
      * @param expectedStatusCode the expected status code
@@ -235,6 +637,7 @@ public class ApiStepDef {
      * @param jsonPath the JSON path
      */
     @Then("the response should contain JSON path {string}")
+    @ReadsJsonPaths(arguments = 0)
     public void verifyResponseContainsJsonPath(String jsonPath) {
         boolean hasPath = responseUtils.hasJsonPath(jsonPath);
         ReportManager.logAssertion("JSON Path Exists: " + jsonPath, true, hasPath);
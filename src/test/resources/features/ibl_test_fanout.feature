@@ -0,0 +1,11 @@
+Feature: task_ibl schedule sweep
+  As a QA engineer
+  I want to fetch the schedule for every day and channel in a range
+  So that I can validate a whole week of schedules in one run
+
+  @load
+  Scenario: Sweep a week of schedules across channels
+    Given the API base URL is set to "https://testapi.io/api/RMSTest"
+    When I fetch "/ibltest?date={date}&channel={channel}" for every date from "2023-09-11" to "2023-09-17" on channels "bbc_one_london,bbc_two_england,bbc_news24"
+    Then every fan-out request should return status code 200
+    And every fan-out response should pass element verification
@@ -0,0 +1,11 @@
+Feature: task_ibl load test
+  As a QA engineer
+  I want to drive the IBL test API at a steady request rate
+  So that I can see how it behaves under sustained load
+
+  @load
+  Scenario: Sustained load on the schedule endpoint
+    Given the API base URL is set to "https://testapi.io/api/RMSTest"
+    When I send 20 GET requests per second for 10 seconds
+    Then at least 99 percent of load requests should return status code 200
+    And every sampled load response should pass element verification
@@ -8,4 +8,19 @@ Feature: task_ibl success response test
     Given the API base URL is set to "https://testapi.io/api/RMSTest"
     When I send a GET request to endpoint "/ibltest"
     Then the response status code should be 200
-    And the response time should be less than 1050 milliseconds
\ No newline at end of file
+    And the response time should be less than 1050 milliseconds
+
+  @regression
+  Scenario: Tail latency over repeated calls
+    Given the API base URL is set to "https://testapi.io/api/RMSTest"
+    When I send 20 GET requests to endpoint "/ibltest" every 250 milliseconds
+    Then the response status code should be 200
+    And the p50 response time should be less than 1050 milliseconds
+    And the p99 response time should be less than 3000 milliseconds
+
+  @regression
+  Scenario: Concurrent requests through the selected HTTP engine
+    Given the API base URL is set to "https://testapi.io/api/RMSTest"
+    When I send 10 concurrent GET requests to endpoint "/ibltest"
+    Then every concurrent response should have status code 200
+    And the response status code should be 200
@@ -0,0 +1,12 @@
+Feature: task_ibl schedule timeline test
+  As a QA engineer
+  I want to validate the IBL test API
+  So that I can ensure the API is working correctly
+
+  @regression @stub
+  Scenario: Schedule elements form a continuous timeline
+    Given the API base URL is set to "https://testapi.io/api/RMSTest"
+    When I send a GET request to endpoint "/ibltest"
+    Then the schedule timeline should have no gaps or overlaps
+    And every element duration should match its scheduled start and end
+    And every transmission should be within its scheduled window